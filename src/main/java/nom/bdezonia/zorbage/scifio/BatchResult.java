@@ -0,0 +1,112 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.util.Collections;
+import java.util.List;
+
+import nom.bdezonia.zorbage.misc.DataBundle;
+
+/**
+ * The outcome of reading one file of a batch. See
+ * {@link Scifio#readBatch(java.util.Collection, java.util.concurrent.ExecutorService, ReadOptions, java.util.function.Consumer)}.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class BatchResult {
+
+	private final int index;
+	
+	private final String source;
+	
+	private final DataBundle bundle;
+	
+	private final Exception error;
+	
+	private final List<String> warnings;
+	
+	BatchResult(int index, String source, DataBundle bundle, Exception error, List<String> warnings) {
+		
+		this.index = index;
+		
+		this.source = source;
+		
+		this.bundle = bundle;
+		
+		this.error = error;
+		
+		this.warnings = Collections.unmodifiableList(warnings);
+	}
+	
+	/**
+	 * Returns the position of the file in the batch's input.
+	 */
+	public int index() {
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the filename or URI that was read.
+	 */
+	public String source() {
+		
+		return source;
+	}
+	
+	/**
+	 * Returns true if the file was read, and handed to the batch's callback,
+	 * without error.
+	 */
+	public boolean succeeded() {
+		
+		return error == null;
+	}
+	
+	/**
+	 * Returns the datasets read from the file or null if reading failed.
+	 */
+	public DataBundle bundle() {
+		
+		return bundle;
+	}
+	
+	/**
+	 * Returns the reason reading failed, or the exception the batch's
+	 * callback threw, or null if both succeeded.
+	 */
+	public Exception error() {
+		
+		return error;
+	}
+	
+	/**
+	 * Returns the warnings raised while reading the file.
+	 */
+	public List<String> warnings() {
+		
+		return warnings;
+	}
+}
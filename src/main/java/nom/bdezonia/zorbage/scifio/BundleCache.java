@@ -0,0 +1,593 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+import nom.bdezonia.zorbage.algebra.Algebra;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.NdData;
+import nom.bdezonia.zorbage.misc.DataBundle;
+import nom.bdezonia.zorbage.misc.DataSourceUtils;
+import nom.bdezonia.zorbage.tuple.Tuple2;
+import nom.bdezonia.zorbage.type.color.ArgbMember;
+import nom.bdezonia.zorbage.type.complex.float32.ComplexFloat32Member;
+import nom.bdezonia.zorbage.type.complex.float64.ComplexFloat64Member;
+import nom.bdezonia.zorbage.type.integer.int1.UnsignedInt1Member;
+import nom.bdezonia.zorbage.type.integer.int10.UnsignedInt10Member;
+import nom.bdezonia.zorbage.type.integer.int11.UnsignedInt11Member;
+import nom.bdezonia.zorbage.type.integer.int12.UnsignedInt12Member;
+import nom.bdezonia.zorbage.type.integer.int128.UnsignedInt128Member;
+import nom.bdezonia.zorbage.type.integer.int13.UnsignedInt13Member;
+import nom.bdezonia.zorbage.type.integer.int14.UnsignedInt14Member;
+import nom.bdezonia.zorbage.type.integer.int15.UnsignedInt15Member;
+import nom.bdezonia.zorbage.type.integer.int16.SignedInt16Member;
+import nom.bdezonia.zorbage.type.integer.int16.UnsignedInt16Member;
+import nom.bdezonia.zorbage.type.integer.int64.SignedInt64Member;
+import nom.bdezonia.zorbage.type.integer.int64.UnsignedInt64Member;
+import nom.bdezonia.zorbage.type.integer.int2.UnsignedInt2Member;
+import nom.bdezonia.zorbage.type.integer.int3.UnsignedInt3Member;
+import nom.bdezonia.zorbage.type.integer.int32.SignedInt32Member;
+import nom.bdezonia.zorbage.type.integer.int32.UnsignedInt32Member;
+import nom.bdezonia.zorbage.type.integer.int4.UnsignedInt4Member;
+import nom.bdezonia.zorbage.type.integer.int5.UnsignedInt5Member;
+import nom.bdezonia.zorbage.type.integer.int6.UnsignedInt6Member;
+import nom.bdezonia.zorbage.type.integer.int7.UnsignedInt7Member;
+import nom.bdezonia.zorbage.type.integer.int8.SignedInt8Member;
+import nom.bdezonia.zorbage.type.integer.int8.UnsignedInt8Member;
+import nom.bdezonia.zorbage.type.integer.int9.UnsignedInt9Member;
+import nom.bdezonia.zorbage.type.integer.unbounded.UnboundedIntMember;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+import nom.bdezonia.zorbage.type.real.float64.Float64Member;
+
+/**
+ * An in memory cache of the DataBundles that whole file reads return. Entries
+ * are keyed by a file's path, size and modification time, so a changed file
+ * is read again, and by the read options that change how a bundle is built.
+ * Entries are evicted least recently used first once their estimated sizes
+ * add up to more than a byte budget. Concurrent reads of a file that is not
+ * cached wait for a single decode and share its result. The warnings that
+ * decode raised are handed to the warning handler of every read that gets
+ * its result, not just the read that decoded it.
+ * 
+ * <p>
+ * Install a cache with {@link Scifio#setBundleCache(BundleCache)}. Every
+ * read of a cached file gets its own bundle whose datasets share the cached
+ * values but throw an {@link UnsupportedOperationException} when written
+ * to. Duplicate a dataset's raw data to get a copy that can be changed.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class BundleCache {
+
+	private final long maxBytes;
+	
+	// access ordered so iteration starts at the least recently used entry
+	
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	
+	private final Map<String, CompletableFuture<Entry>> loading = new HashMap<>();
+	
+	private long bytes = 0;
+	
+	private long hits = 0;
+	
+	private long misses = 0;
+	
+	private long evictions = 0;
+	
+	private static class Entry {
+		
+		final DataBundle bundle;
+		
+		final long bytes;
+		
+		final List<String> warnings;
+		
+		Entry(DataBundle bundle, long bytes, List<String> warnings) {
+			
+			this.bundle = bundle;
+			
+			this.bytes = bytes;
+			
+			this.warnings = warnings;
+		}
+	}
+
+	/**
+	 * 
+	 * @param maxBytes the most bytes that the cached bundles together may use
+	 */
+	public BundleCache(long maxBytes) {
+		
+		if (maxBytes < 0)
+			throw new IllegalArgumentException("cache size must be >= 0");
+		
+		this.maxBytes = maxBytes;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public long getMaxBytes() {
+		
+		return maxBytes;
+	}
+	
+	/**
+	 * Returns the estimated bytes used by the cached bundles.
+	 * 
+	 * @return
+	 */
+	public synchronized long getBytes() {
+		
+		return bytes;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public synchronized int getCount() {
+		
+		return entries.size();
+	}
+	
+	/**
+	 * Returns the number of reads that did not decode the file themselves.
+	 * Reads that waited for another thread's decode count as hits.
+	 * 
+	 * @return
+	 */
+	public synchronized long getHits() {
+		
+		return hits;
+	}
+	
+	/**
+	 * Returns the number of reads that decoded the file.
+	 * 
+	 * @return
+	 */
+	public synchronized long getMisses() {
+		
+		return misses;
+	}
+	
+	/**
+	 * Returns the number of bundles dropped to stay within the byte budget.
+	 * 
+	 * @return
+	 */
+	public synchronized long getEvictions() {
+		
+		return evictions;
+	}
+	
+	/**
+	 * Drops every cached bundle. The counters are kept.
+	 */
+	public synchronized void clear() {
+		
+		entries.clear();
+		
+		bytes = 0;
+	}
+	
+	/**
+	 * Returns the key of a location read with the given options or null if
+	 * it cannot be cached.
+	 * 
+	 * @param location
+	 * @param options
+	 * @return
+	 */
+	static String key(Location location, ReadOptions options) {
+		
+		File file = null;
+		
+		if (location instanceof FileLocation)
+			file = ((FileLocation) location).getFile();
+		else if ("file".equals(location.getURI().getScheme()))
+			file = new File(location.getURI());
+		
+		// other locations have no modification time to tell if they changed
+		
+		if (file == null || !file.isFile())
+			return null;
+		
+		return file.getAbsolutePath() + "\n" + file.length() + "\n" + file.lastModified() + "\n" + optionsKey(options);
+	}
+	
+	// The options that still change the storage or reader of a cacheable
+	//   read. The rest (parallelism, executor, warning handler, disk cache)
+	//   only change how the same values are produced.
+	
+	private static String optionsKey(ReadOptions options) {
+		
+		return options.getFileBackedThreshold() + " " + options.isMemoryMapped() + " " + options.isTiled();
+	}
+	
+	/**
+	 * Returns the bundle cached under a key. If there is none the loader is
+	 * called, unless another thread is already loading the same key in which
+	 * case its result is waited for. The loader is handed the warning handler
+	 * it must report to. Every warning it reports reaches the given handler
+	 * and is replayed to the handlers of later reads of the same key.
+	 * 
+	 * @param key
+	 * @param warningHandler
+	 * @param loader
+	 * @return
+	 */
+	DataBundle get(String key, Consumer<String> warningHandler, Function<Consumer<String>, DataBundle> loader) {
+		
+		CompletableFuture<Entry> future;
+		
+		Entry entry;
+		
+		boolean owner = false;
+		
+		synchronized (this) {
+			
+			entry = entries.get(key);
+			
+			if (entry != null) {
+				
+				hits++;
+				
+				future = null;
+			}
+			else {
+				
+				future = loading.get(key);
+				
+				if (future == null) {
+					
+					misses++;
+					
+					future = new CompletableFuture<>();
+					
+					loading.put(key, future);
+					
+					owner = true;
+				}
+				else {
+					
+					hits++;
+				}
+			}
+		}
+		
+		if (owner)
+			return load(key, warningHandler, loader, future);
+		
+		if (entry == null)
+			entry = await(future);
+		
+		// handlers are called outside the lock since they may be slow
+		
+		for (String warning : entry.warnings) {
+			
+			warningHandler.accept(warning);
+		}
+		
+		return readOnlyCopy(entry.bundle);
+	}
+	
+	private static Entry await(CompletableFuture<Entry> future) {
+		
+		try {
+			
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			
+			Thread.currentThread().interrupt();
+			
+			throw new CancellationException("cancelled");
+		}
+		catch (ExecutionException e) {
+			
+			Throwable cause = e.getCause();
+			
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			
+			if (cause instanceof Error)
+				throw (Error) cause;
+			
+			throw new IllegalStateException(cause);
+		}
+	}
+	
+	private DataBundle load(String key, Consumer<String> warningHandler, Function<Consumer<String>, DataBundle> loader, CompletableFuture<Entry> future) {
+		
+		List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+		
+		Consumer<String> recorder = warning -> {
+			
+			warnings.add(warning);
+			
+			warningHandler.accept(warning);
+		};
+		
+		DataBundle bundle;
+		
+		try {
+			
+			bundle = loader.apply(recorder);
+		}
+		catch (RuntimeException | Error e) {
+			
+			synchronized (this) {
+				
+				loading.remove(key);
+			}
+			
+			future.completeExceptionally(e);
+			
+			throw e;
+		}
+		
+		long size = estimatedBytes(bundle);
+		
+		boolean cached = size <= maxBytes;
+		
+		Entry entry = new Entry(bundle, size, new ArrayList<>(warnings));
+		
+		synchronized (this) {
+			
+			loading.remove(key);
+			
+			if (cached) {
+				
+				Entry old = entries.put(key, entry);
+				
+				if (old != null)
+					bytes -= old.bytes;
+				
+				bytes += size;
+				
+				evict();
+			}
+		}
+		
+		future.complete(entry);
+		
+		// a bundle that was too big to keep is only shared with the threads
+		//   that waited for it
+		
+		return cached ? readOnlyCopy(bundle) : bundle;
+	}
+	
+	private void evict() {
+		
+		Iterator<Entry> iter = entries.values().iterator();
+		
+		while (bytes > maxBytes && iter.hasNext()) {
+			
+			bytes -= iter.next().bytes;
+			
+			iter.remove();
+			
+			evictions++;
+		}
+	}
+	
+	// Gives a caller its own bundle of datasets that read the cached values
+	//   but reject writes, so no caller can change what another one sees.
+	
+	private static <T extends Algebra<T,U>, U>
+	
+		DataBundle readOnlyCopy(DataBundle bundle)
+	{
+		List<Tuple2<T, DimensionedDataSource<U>>> tuples = bundle.bundle();
+		
+		DataBundle copy = new DataBundle();
+		
+		for (Tuple2<T, DimensionedDataSource<U>> tuple : tuples) {
+			
+			DimensionedDataSource<U> data = tuple.b();
+			
+			DimensionedDataSource<U> view =
+					new NdData<U>(DataSourceUtils.dimensions(data), new ReadOnlyDataSource<U>(data.rawData()));
+			
+			copyMetadata(data, view);
+			
+			merge(copy, tuple.a().construct(), view);
+		}
+		
+		return copy;
+	}
+	
+	// copies what reading records about a whole file dataset
+	
+	private static void copyMetadata(DimensionedDataSource<?> from, DimensionedDataSource<?> to) {
+		
+		to.setName(from.getName());
+		
+		to.setSource(from.getSource());
+		
+		for (int i = 0; i < from.numDimensions(); i++) {
+			
+			to.setAxisType(i, from.getAxisType(i));
+			
+			to.setAxisUnit(i, from.getAxisUnit(i));
+		}
+		
+		to.setCoordinateSpace(from.getCoordinateSpace());
+		
+		for (String key : DiskCache.STRING_KEYS) {
+			
+			String value = from.metadata().getString(key);
+			
+			if (value != null)
+				to.metadata().putString(key, value);
+		}
+		
+		Long size = from.metadata().getLong(DiskCache.SIZE_KEY);
+		
+		if (size != null)
+			to.metadata().putLong(DiskCache.SIZE_KEY, size);
+	}
+	
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static void merge(DataBundle bundle, Object value, DimensionedDataSource data) {
+		
+		if (value instanceof UnsignedInt1Member)
+			bundle.mergeUInt1(data);
+		else if (value instanceof UnsignedInt2Member)
+			bundle.mergeUInt2(data);
+		else if (value instanceof UnsignedInt3Member)
+			bundle.mergeUInt3(data);
+		else if (value instanceof UnsignedInt4Member)
+			bundle.mergeUInt4(data);
+		else if (value instanceof UnsignedInt5Member)
+			bundle.mergeUInt5(data);
+		else if (value instanceof UnsignedInt6Member)
+			bundle.mergeUInt6(data);
+		else if (value instanceof UnsignedInt7Member)
+			bundle.mergeUInt7(data);
+		else if (value instanceof UnsignedInt8Member)
+			bundle.mergeUInt8(data);
+		else if (value instanceof UnsignedInt9Member)
+			bundle.mergeUInt9(data);
+		else if (value instanceof UnsignedInt10Member)
+			bundle.mergeUInt10(data);
+		else if (value instanceof UnsignedInt11Member)
+			bundle.mergeUInt11(data);
+		else if (value instanceof UnsignedInt12Member)
+			bundle.mergeUInt12(data);
+		else if (value instanceof UnsignedInt13Member)
+			bundle.mergeUInt13(data);
+		else if (value instanceof UnsignedInt14Member)
+			bundle.mergeUInt14(data);
+		else if (value instanceof UnsignedInt15Member)
+			bundle.mergeUInt15(data);
+		else if (value instanceof UnsignedInt16Member)
+			bundle.mergeUInt16(data);
+		else if (value instanceof UnsignedInt32Member)
+			bundle.mergeUInt32(data);
+		else if (value instanceof UnsignedInt64Member)
+			bundle.mergeUInt64(data);
+		else if (value instanceof UnsignedInt128Member)
+			bundle.mergeUInt128(data);
+		else if (value instanceof UnboundedIntMember)
+			bundle.mergeBigInt(data);
+		else if (value instanceof SignedInt8Member)
+			bundle.mergeInt8(data);
+		else if (value instanceof SignedInt16Member)
+			bundle.mergeInt16(data);
+		else if (value instanceof SignedInt32Member)
+			bundle.mergeInt32(data);
+		else if (value instanceof SignedInt64Member)
+			bundle.mergeInt64(data);
+		else if (value instanceof Float32Member)
+			bundle.mergeFlt32(data);
+		else if (value instanceof Float64Member)
+			bundle.mergeFlt64(data);
+		else if (value instanceof ComplexFloat32Member)
+			bundle.mergeComplexFlt32(data);
+		else if (value instanceof ComplexFloat64Member)
+			bundle.mergeComplexFlt64(data);
+		else if (value instanceof ArgbMember)
+			bundle.mergeArgb(data);
+		else
+			throw new IllegalArgumentException("unsupported dataset type: " + value.getClass().getName());
+	}
+	
+	// element size times the element count of every dataset of a bundle
+	
+	private static <T extends Algebra<T,U>, U>
+	
+		long estimatedBytes(DataBundle bundle)
+	{
+		List<Tuple2<T, DimensionedDataSource<U>>> tuples = bundle.bundle();
+		
+		long total = 0;
+		
+		for (Tuple2<T, DimensionedDataSource<U>> tuple : tuples) {
+			
+			long elements = 1;
+			
+			for (int i = 0; i < tuple.b().numDimensions(); i++) {
+				
+				elements *= tuple.b().dimension(i);
+			}
+			
+			total += elements * elementBytes(tuple.a().construct());
+		}
+		
+		return total;
+	}
+	
+	private static long elementBytes(Object value) {
+		
+		if (value instanceof UnsignedInt1Member || value instanceof UnsignedInt2Member ||
+				value instanceof UnsignedInt3Member || value instanceof UnsignedInt4Member ||
+				value instanceof UnsignedInt5Member || value instanceof UnsignedInt6Member ||
+				value instanceof UnsignedInt7Member || value instanceof UnsignedInt8Member ||
+				value instanceof SignedInt8Member)
+			return 1;
+		
+		if (value instanceof UnsignedInt9Member || value instanceof UnsignedInt10Member ||
+				value instanceof UnsignedInt11Member || value instanceof UnsignedInt12Member ||
+				value instanceof UnsignedInt13Member || value instanceof UnsignedInt14Member ||
+				value instanceof UnsignedInt15Member || value instanceof UnsignedInt16Member ||
+				value instanceof SignedInt16Member)
+			return 2;
+		
+		if (value instanceof SignedInt32Member || value instanceof UnsignedInt32Member ||
+				value instanceof Float32Member || value instanceof ArgbMember)
+			return 4;
+		
+		if (value instanceof ComplexFloat32Member)
+			return 8;
+		
+		if (value instanceof ComplexFloat64Member || value instanceof UnsignedInt128Member)
+			return 16;
+		
+		// 64 bit types. Unbounded integers need more but have no fixed size.
+		
+		return 8;
+	}
+}
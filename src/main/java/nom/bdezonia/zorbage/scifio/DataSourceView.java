@@ -0,0 +1,164 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import net.imglib2.AbstractInterval;
+import net.imglib2.Interval;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.NativeType;
+import nom.bdezonia.zorbage.algebra.Algebra;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
+import nom.bdezonia.zorbage.procedure.Procedure2;
+
+/**
+ * A read only imglib2 {@link RandomAccessibleInterval} that exposes the
+ * values of a {@link DimensionedDataSource} without copying them. Each value
+ * is converted to its imglib2 type when it is fetched. Changes made to a
+ * fetched value are not written back to the data source.
+ * 
+ * @author Barry DeZonia
+ *
+ * @param <II> the algebra of the zorbage type
+ * @param <I> the zorbage type of the data source
+ * @param <O> the imglib2 type of the values handed out
+ */
+class DataSourceView<II extends Algebra<II,I>, I, O extends NativeType<O>>
+	extends AbstractInterval
+	implements RandomAccessibleInterval<O>
+{
+	private final II alg;
+	
+	private final IndexedDataSource<I> raw;
+	
+	private final O outputType;
+	
+	private final Procedure2<I,O> converter;
+	
+	private final long[] strides;
+
+	/**
+	 * 
+	 * @param alg
+	 * @param data
+	 * @param outputType
+	 * @param converter
+	 */
+	DataSourceView(II alg, DimensionedDataSource<I> data, O outputType, Procedure2<I,O> converter) {
+		
+		super(dimensions(data));
+		
+		this.alg = alg;
+		
+		this.raw = data.rawData();
+		
+		this.outputType = outputType;
+		
+		this.converter = converter;
+		
+		// zorbage lays out its values with dimension 0 varying fastest
+		
+		this.strides = new long[n];
+		
+		long stride = 1;
+		
+		for (int i = 0; i < n; i++) {
+			
+			strides[i] = stride;
+			
+			stride *= dimension(i);
+		}
+	}
+
+	@Override
+	public RandomAccess<O> randomAccess() {
+		
+		return new Access();
+	}
+
+	@Override
+	public RandomAccess<O> randomAccess(Interval interval) {
+		
+		return new Access();
+	}
+	
+	private static long[] dimensions(DimensionedDataSource<?> data) {
+		
+		long[] dims = new long[data.numDimensions()];
+		
+		for (int i = 0; i < dims.length; i++) {
+			
+			dims[i] = data.dimension(i);
+		}
+		
+		return dims;
+	}
+	
+	// Each access converts into its own values so accesses can be used by
+	//   different threads at once
+	
+	private class Access
+		extends Point
+		implements RandomAccess<O>
+	{
+		private final I inputValue = alg.construct();
+		
+		private final O outputValue = outputType.createVariable();
+		
+		Access() {
+			
+			super(DataSourceView.this.n);
+		}
+		
+		Access(Access other) {
+			
+			super(other);
+		}
+
+		@Override
+		public O get() {
+			
+			long index = 0;
+			
+			for (int i = 0; i < n; i++) {
+				
+				index += position[i] * strides[i];
+			}
+			
+			raw.get(index, inputValue);
+			
+			converter.call(inputValue, outputValue);
+			
+			return outputValue;
+		}
+
+		@Override
+		public Access copy() {
+			
+			return new Access(this);
+		}
+	}
+}
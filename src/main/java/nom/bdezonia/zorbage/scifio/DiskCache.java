@@ -0,0 +1,818 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+import io.scif.Format;
+import io.scif.FormatException;
+import io.scif.SCIFIO;
+import io.scif.util.FormatTools;
+import nom.bdezonia.zorbage.algebra.Algebra;
+import nom.bdezonia.zorbage.algebra.Allocatable;
+import nom.bdezonia.zorbage.coordinates.CoordinateSpace;
+import nom.bdezonia.zorbage.coordinates.LinearNdCoordinateSpace;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
+import nom.bdezonia.zorbage.misc.DataBundle;
+import nom.bdezonia.zorbage.tuple.Tuple2;
+import nom.bdezonia.zorbage.type.integer.int16.SignedInt16Member;
+import nom.bdezonia.zorbage.type.integer.int16.UnsignedInt16Member;
+import nom.bdezonia.zorbage.type.integer.int32.SignedInt32Member;
+import nom.bdezonia.zorbage.type.integer.int32.UnsignedInt32Member;
+import nom.bdezonia.zorbage.type.integer.int8.SignedInt8Member;
+import nom.bdezonia.zorbage.type.integer.int8.UnsignedInt8Member;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+import nom.bdezonia.zorbage.type.real.float64.Float64Member;
+
+/**
+ * A persistent cache of converted datasets kept in a directory on disk.
+ * Entries are keyed by a file's path, size and modification time so a
+ * changed file is never served from the cache. Each entry holds the name of
+ * the format the file was read with, which must still claim the file when
+ * the entry is loaded, and the datasets of the file together with the
+ * metadata and coordinate space that reading records. Their raw values
+ * follow in the native byte order of the machine so loading them needs no
+ * decoding, though they are still copied into newly allocated storage.
+ * When the entries take up more than the size cap the least recently used
+ * ones are deleted.
+ * 
+ * <p>
+ * Pass a cache to {@link ReadOptions#setDiskCache(DiskCache)} to use it.
+ * Only files whose datasets all have 8, 16 or 32 bit integer or floating
+ * point types are cached.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class DiskCache {
+
+	private static final int MAGIC = 0x5a534331; // "ZSC1"
+	
+	private static final int VERSION = 2;
+	
+	private static final String SUFFIX = ".zsc";
+	
+	// the metadata entries that reading records
+	
+	static final String[] STRING_KEYS = new String[] {
+			"input-dataset-name", "input-format-name", "input-identifier",
+			"input-location", "input-source-location", "input-version"
+	};
+	
+	static final String SIZE_KEY = "input-dataset-size";
+	
+	// values are copied through a buffer of this many bytes at a time
+	
+	private static final int CHUNK = 1 << 20;
+	
+	private final File directory;
+	
+	private final long maxBytes;
+
+	/**
+	 * 
+	 * @param directory where cache entries are kept. It is created if needed.
+	 * @param maxBytes the most bytes that all the entries together may use
+	 */
+	public DiskCache(File directory, long maxBytes) {
+		
+		if (maxBytes < 0)
+			throw new IllegalArgumentException("cache size must be >= 0");
+		
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IllegalArgumentException("cannot create cache directory " + directory);
+		
+		this.directory = directory;
+		
+		this.maxBytes = maxBytes;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public File getDirectory() {
+		
+		return directory;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public long getMaxBytes() {
+		
+		return maxBytes;
+	}
+	
+	/**
+	 * Deletes every entry of the cache.
+	 */
+	public synchronized void clear() {
+		
+		for (File entry : entries()) {
+			
+			entry.delete();
+		}
+	}
+	
+	/**
+	 * Returns the key of a file or null if it cannot be cached.
+	 * 
+	 * @param location
+	 * @return
+	 */
+	static String key(Location location) {
+		
+		File file = null;
+		
+		if (location instanceof FileLocation)
+			file = ((FileLocation) location).getFile();
+		else if ("file".equals(location.getURI().getScheme()))
+			file = new File(location.getURI());
+		
+		// other locations have no modification time to tell if they changed
+		
+		if (file == null || !file.isFile())
+			return null;
+		
+		// no format detection here: it would cost a file read on every lookup.
+		//   The format is checked when an entry is loaded instead.
+		
+		String identity = file.getAbsolutePath() + "\n" + file.length() + "\n" + file.lastModified();
+		
+		try {
+			
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+			
+			StringBuilder key = new StringBuilder();
+			
+			for (byte b : digest) {
+				
+				key.append(String.format("%02x", b & 0xff));
+			}
+			
+			return key.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+	
+	/**
+	 * Returns the datasets stored under a key or null if there are none or
+	 * if the file they came from is no longer read with the same format.
+	 * 
+	 * @param key
+	 * @param location
+	 * @param options
+	 * @return
+	 */
+	DataBundle load(String key, Location location, ReadOptions options) {
+		
+		File entry = new File(directory, key + SUFFIX);
+		
+		if (!entry.isFile())
+			return null;
+		
+		try {
+			
+			DataBundle bundle = read(entry, location, options);
+			
+			// mark the entry as recently used
+			
+			entry.setLastModified(System.currentTimeMillis());
+			
+			return bundle;
+		}
+		catch (IOException e) {
+			
+			// a damaged, foreign or stale entry: drop it and read the file again
+			
+			entry.delete();
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * Stores the datasets of a file under a key and then evicts the least
+	 * recently used entries until the cache fits its size cap. Bundles with
+	 * datasets of types the cache cannot hold are not stored.
+	 * 
+	 * @param key
+	 * @param bundle
+	 * @throws IOException
+	 */
+	void store(String key, DataBundle bundle) throws IOException {
+		
+		List<DimensionedDataSource<?>> datasets = new ArrayList<>();
+		
+		List<Integer> pixelTypes = new ArrayList<>();
+		
+		if (!datasets(bundle, datasets, pixelTypes))
+			return;
+		
+		File temp = File.createTempFile(key, ".tmp", directory);
+		
+		try {
+			
+			write(temp, datasets, pixelTypes);
+			
+			if (temp.length() > maxBytes)
+				return;
+			
+			Files.move(temp.toPath(), new File(directory, key + SUFFIX).toPath(),
+						StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			
+			temp.delete();
+		}
+		
+		evict();
+	}
+	
+	private synchronized void evict() {
+		
+		File[] entries = entries();
+		
+		long total = 0;
+		
+		for (File entry : entries) {
+			
+			total += entry.length();
+		}
+		
+		Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+		
+		for (int i = 0; i < entries.length && total > maxBytes; i++) {
+			
+			long length = entries[i].length();
+			
+			if (entries[i].delete())
+				total -= length;
+		}
+	}
+	
+	private File[] entries() {
+		
+		File[] entries = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+		
+		return (entries == null) ? new File[0] : entries;
+	}
+	
+	// Collects the datasets of a bundle and their pixel types. Returns false
+	//   if any has a type that the cache cannot hold.
+	
+	private static <T extends Algebra<T,U>, U>
+	
+		boolean datasets(DataBundle bundle, List<DimensionedDataSource<?>> datasets, List<Integer> pixelTypes)
+	{
+		List<Tuple2<T, DimensionedDataSource<U>>> tuples = bundle.bundle();
+		
+		for (Tuple2<T, DimensionedDataSource<U>> tuple : tuples) {
+			
+			int pixelType = Scifio.pixelType(tuple.a().construct());
+			
+			if (!Scifio.wholeBytes(pixelType))
+				return false;
+			
+			datasets.add(tuple.b());
+			
+			pixelTypes.add(pixelType);
+		}
+		
+		return true;
+	}
+	
+	// Layout: a header written with DataOutputStream followed by the values of
+	//   each dataset in native byte order starting on an 8 byte boundary.
+	
+	private static void write(File file, List<DimensionedDataSource<?>> datasets, List<Integer> types) throws IOException {
+		
+		int[] pixelTypes = new int[datasets.size()];
+		
+		long[] dataBytes = new long[datasets.size()];
+		
+		for (int i = 0; i < datasets.size(); i++) {
+			
+			pixelTypes[i] = types.get(i);
+			
+			dataBytes[i] = datasets.get(i).rawData().size() * FormatTools.getBytesPerPixel(pixelTypes[i]);
+		}
+		
+		// the header holds fixed width data offsets so its size does not
+		//   depend on them
+		
+		long headerBytes = header(datasets, pixelTypes, dataBytes, new long[datasets.size()]).length;
+		
+		long[] dataOffsets = new long[datasets.size()];
+		
+		long offset = align(headerBytes);
+		
+		for (int i = 0; i < datasets.size(); i++) {
+			
+			dataOffsets[i] = offset;
+			
+			offset = align(offset + dataBytes[i]);
+		}
+		
+		byte[] header = header(datasets, pixelTypes, dataBytes, dataOffsets);
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			
+			channel.write(ByteBuffer.wrap(header), 0);
+			
+			ByteBuffer buffer = ByteBuffer.allocate(CHUNK).order(ByteOrder.nativeOrder());
+			
+			for (int i = 0; i < datasets.size(); i++) {
+				
+				writeValues(channel, dataOffsets[i], pixelTypes[i], datasets.get(i).rawData(), buffer);
+			}
+		}
+	}
+	
+	private static byte[] header(List<DimensionedDataSource<?>> datasets, int[] pixelTypes, long[] dataBytes, long[] dataOffsets) throws IOException {
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		
+		DataOutputStream out = new DataOutputStream(bytes);
+		
+		out.writeInt(MAGIC);
+		
+		out.writeInt(VERSION);
+		
+		out.writeBoolean(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+		
+		// every dataset of a file is read with the same format
+		
+		writeString(out, datasets.isEmpty() ? null : datasets.get(0).metadata().getString("input-format-name"));
+		
+		out.writeInt(datasets.size());
+		
+		for (int i = 0; i < datasets.size(); i++) {
+			
+			DimensionedDataSource<?> data = datasets.get(i);
+			
+			out.writeInt(pixelTypes[i]);
+			
+			writeString(out, data.getName());
+			
+			writeString(out, data.getSource());
+			
+			int numD = data.numDimensions();
+			
+			out.writeInt(numD);
+			
+			CoordinateSpace space = data.getCoordinateSpace();
+			
+			for (int d = 0; d < numD; d++) {
+				
+				out.writeLong(data.dimension(d));
+				
+				writeString(out, data.getAxisType(d));
+				
+				writeString(out, data.getAxisUnit(d));
+				
+				if (space instanceof LinearNdCoordinateSpace) {
+					
+					writeString(out, ((LinearNdCoordinateSpace) space).getScale(d).toString());
+					
+					writeString(out, ((LinearNdCoordinateSpace) space).getOffset(d).toString());
+				}
+				else {
+					
+					writeString(out, BigDecimal.ONE.toString());
+					
+					writeString(out, BigDecimal.ZERO.toString());
+				}
+			}
+			
+			for (String key : STRING_KEYS) {
+				
+				writeString(out, data.metadata().getString(key));
+			}
+			
+			Long size = data.metadata().getLong(SIZE_KEY);
+			
+			out.writeLong(size == null ? -1 : size);
+			
+			out.writeLong(dataOffsets[i]);
+			
+			out.writeLong(dataBytes[i]);
+		}
+		
+		out.flush();
+		
+		return bytes.toByteArray();
+	}
+	
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static DataBundle read(File file, Location location, ReadOptions options) throws IOException {
+		
+		DataBundle bundle = new DataBundle();
+		
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+				FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException("not a cache entry: " + file);
+			
+			if (in.readBoolean() != (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN))
+				throw new IOException("cache entry written with a different byte order: " + file);
+			
+			if (!sameFormat(readString(in), location))
+				throw new IOException("cache entry was read with a different format: " + file);
+			
+			int count = in.readInt();
+			
+			for (int i = 0; i < count; i++) {
+				
+				int pixelType = in.readInt();
+				
+				String name = readString(in);
+				
+				String source = readString(in);
+				
+				int numD = in.readInt();
+				
+				long[] dims = new long[numD];
+				
+				String[] axisTypes = new String[numD];
+				
+				String[] axisUnits = new String[numD];
+				
+				BigDecimal[] scales = new BigDecimal[numD];
+				
+				BigDecimal[] offsets = new BigDecimal[numD];
+				
+				for (int d = 0; d < numD; d++) {
+					
+					dims[d] = in.readLong();
+					
+					axisTypes[d] = readString(in);
+					
+					axisUnits[d] = readString(in);
+					
+					scales[d] = new BigDecimal(readString(in));
+					
+					offsets[d] = new BigDecimal(readString(in));
+				}
+				
+				String[] values = new String[STRING_KEYS.length];
+				
+				for (int k = 0; k < STRING_KEYS.length; k++) {
+					
+					values[k] = readString(in);
+				}
+				
+				long size = in.readLong();
+				
+				long dataOffset = in.readLong();
+				
+				long dataBytes = in.readLong();
+				
+				Allocatable type = (Allocatable) Scifio.zorbageType(pixelType);
+				
+				if (type == null || !Scifio.wholeBytes(pixelType))
+					throw new IOException("unknown pixel type in cache entry: " + file);
+				
+				DimensionedDataSource<?> output = Scifio.makeDataset(dims, dataBytes, type, options);
+				
+				readValues(channel, dataOffset, dataBytes, pixelType, output.rawData());
+				
+				output.setName(name);
+				
+				output.setSource(source);
+				
+				for (int d = 0; d < numD; d++) {
+					
+					output.setAxisType(d, axisTypes[d]);
+					
+					output.setAxisUnit(d, axisUnits[d]);
+				}
+				
+				output.setCoordinateSpace(new LinearNdCoordinateSpace(scales, offsets));
+				
+				for (int k = 0; k < STRING_KEYS.length; k++) {
+					
+					if (values[k] != null)
+						output.metadata().putString(STRING_KEYS[k], values[k]);
+				}
+				
+				if (size >= 0)
+					output.metadata().putLong(SIZE_KEY, size);
+				
+				Scifio.mergeDataset(bundle, pixelType, output);
+			}
+		}
+		
+		return bundle;
+	}
+	
+	// True when the format an entry was read with still claims the file. Only
+	//   that format's checker runs rather than a search of every format.
+	
+	private static boolean sameFormat(String formatName, Location location) {
+		
+		if (formatName == null)
+			return false;
+		
+		for (Format format : new SCIFIO(Scifio.getContext()).format().getAllFormats()) {
+			
+			if (!formatName.equals(format.getFormatName()))
+				continue;
+			
+			try {
+				
+				return format.createChecker().isFormat(location);
+			}
+			catch (FormatException e) {
+				
+				return false;
+			}
+		}
+		
+		return false;
+	}
+	
+	// Maps the values back in pieces that each fit in one buffer
+	
+	private static void readValues(FileChannel channel, long offset, long numBytes, int pixelType, IndexedDataSource<?> raw) throws IOException {
+		
+		int bytesPerPixel = FormatTools.getBytesPerPixel(pixelType);
+		
+		long maxPiece = (Integer.MAX_VALUE / bytesPerPixel) * (long) bytesPerPixel;
+		
+		long done = 0;
+		
+		while (done < numBytes) {
+			
+			Scifio.checkCancelled();
+			
+			long piece = Math.min(maxPiece, numBytes - done);
+			
+			MappedByteBuffer bytes = channel.map(MapMode.READ_ONLY, offset + done, piece);
+			
+			bytes.order(ByteOrder.nativeOrder());
+			
+			PlaneReader.convert(pixelType, bytes, raw, done / bytesPerPixel, piece / bytesPerPixel);
+			
+			done += piece;
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void writeValues(FileChannel channel, long offset, int pixelType, IndexedDataSource<?> raw, ByteBuffer buffer) throws IOException {
+		
+		long count = raw.size();
+		
+		long position = offset;
+		
+		buffer.clear();
+		
+		switch (pixelType) {
+		
+		case FormatTools.INT8: {
+			
+			IndexedDataSource<SignedInt8Member> src = (IndexedDataSource<SignedInt8Member>) raw;
+			
+			SignedInt8Member value = new SignedInt8Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 1)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.put(value.v());
+			}
+			
+			break;
+		}
+		
+		case FormatTools.UINT8: {
+			
+			IndexedDataSource<UnsignedInt8Member> src = (IndexedDataSource<UnsignedInt8Member>) raw;
+			
+			UnsignedInt8Member value = new UnsignedInt8Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 1)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.put((byte) value.v());
+			}
+			
+			break;
+		}
+		
+		case FormatTools.INT16: {
+			
+			IndexedDataSource<SignedInt16Member> src = (IndexedDataSource<SignedInt16Member>) raw;
+			
+			SignedInt16Member value = new SignedInt16Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 2)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.putShort(value.v());
+			}
+			
+			break;
+		}
+		
+		case FormatTools.UINT16: {
+			
+			IndexedDataSource<UnsignedInt16Member> src = (IndexedDataSource<UnsignedInt16Member>) raw;
+			
+			UnsignedInt16Member value = new UnsignedInt16Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 2)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.putShort((short) value.v());
+			}
+			
+			break;
+		}
+		
+		case FormatTools.INT32: {
+			
+			IndexedDataSource<SignedInt32Member> src = (IndexedDataSource<SignedInt32Member>) raw;
+			
+			SignedInt32Member value = new SignedInt32Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 4)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.putInt(value.v());
+			}
+			
+			break;
+		}
+		
+		case FormatTools.UINT32: {
+			
+			IndexedDataSource<UnsignedInt32Member> src = (IndexedDataSource<UnsignedInt32Member>) raw;
+			
+			UnsignedInt32Member value = new UnsignedInt32Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 4)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.putInt((int) value.v());
+			}
+			
+			break;
+		}
+		
+		case FormatTools.FLOAT: {
+			
+			IndexedDataSource<Float32Member> src = (IndexedDataSource<Float32Member>) raw;
+			
+			Float32Member value = new Float32Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 4)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.putFloat(value.v());
+			}
+			
+			break;
+		}
+		
+		case FormatTools.DOUBLE: {
+			
+			IndexedDataSource<Float64Member> src = (IndexedDataSource<Float64Member>) raw;
+			
+			Float64Member value = new Float64Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				if (buffer.remaining() < 8)
+					position = flush(channel, position, buffer);
+				
+				src.get(i, value);
+				
+				buffer.putDouble(value.v());
+			}
+			
+			break;
+		}
+		
+		default:
+			throw new IllegalArgumentException("unsupported pixel type: " + FormatTools.getPixelTypeString(pixelType));
+		}
+		
+		flush(channel, position, buffer);
+	}
+	
+	// Writes the buffer's contents at a file position and empties it.
+	//   Returns the position after the written bytes.
+	
+	private static long flush(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+		
+		buffer.flip();
+		
+		while (buffer.hasRemaining()) {
+			
+			position += channel.write(buffer, position);
+		}
+		
+		buffer.clear();
+		
+		return position;
+	}
+	
+	private static long align(long offset) {
+		
+		return (offset + 7) & ~7L;
+	}
+	
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		
+		out.writeBoolean(s != null);
+		
+		if (s != null)
+			out.writeUTF(s);
+	}
+	
+	private static String readString(DataInputStream in) throws IOException {
+		
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import io.scif.img.SCIFIOImgPlus;
+import net.imglib2.RandomAccess;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.planar.PlanarImg;
+import nom.bdezonia.zorbage.algebra.Allocatable;
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
+import nom.bdezonia.zorbage.procedure.Procedure2;
+import nom.bdezonia.zorbage.storage.Storage;
+import nom.bdezonia.zorbage.storage.StorageConstruction;
+
+/**
+ * An {@link IndexedDataSource} that exposes the pixels of a
+ * {@link SCIFIOImgPlus} without copying them. Each value is converted from
+ * its imglib2 type when it is fetched and back to it when it is set. Raw
+ * indices vary dimension 0 fastest to match zorbage's own storage layout.
+ * 
+ * @author Barry DeZonia
+ *
+ * @param <U> the imglib2 type of the image
+ * @param <W> the zorbage type of the values handed out
+ */
+class ImgPlusDataSource<U,W extends Allocatable<W>>
+	implements IndexedDataSource<W>
+{
+	private final SCIFIOImgPlus<U> img;
+	
+	private final Procedure2<U,W> converter;
+	
+	private final Procedure2<W,U> setter;
+	
+	private final W type;
+	
+	private final StorageConstruction storageType;
+	
+	private final long[] dims;
+	
+	private final long size;
+	
+	// RandomAccesses are not thread safe so each thread gets its own
+	
+	private final ThreadLocal<Accessor<U>> accessors;
+
+	/**
+	 * 
+	 * @param img
+	 * @param converter turns an image value into a zorbage value
+	 * @param setter turns a zorbage value into an image value
+	 * @param type
+	 */
+	ImgPlusDataSource(SCIFIOImgPlus<U> img, Procedure2<U,W> converter, Procedure2<W,U> setter, W type) {
+	
+		this.img = img;
+		
+		this.converter = converter;
+		
+		this.setter = setter;
+		
+		this.type = type;
+		
+		this.storageType = storageType(img);
+		
+		this.dims = new long[img.numDimensions()];
+		
+		long sz = 1;
+		
+		for (int i = 0; i < dims.length; i++) {
+			
+			dims[i] = img.dimension(i);
+			
+			sz *= dims[i];
+		}
+		
+		this.size = sz;
+		
+		this.accessors = ThreadLocal.withInitial(() -> new Accessor<U>(img.randomAccess(), dims.length));
+	}
+	
+	// A duplicate is a copy of the values in zorbage storage so that writes
+	//   to it never reach the image.
+	
+	@Override
+	public IndexedDataSource<W> duplicate() {
+		
+		IndexedDataSource<W> copy = Storage.allocate(type, size);
+		
+		W value = type.allocate();
+		
+		for (long i = 0; i < size; i++) {
+			
+			get(i, value);
+			
+			copy.set(i, value);
+		}
+		
+		return copy;
+	}
+
+	@Override
+	public void set(long index, W value) {
+		
+		setter.call(value, locate(index).get());
+	}
+
+	@Override
+	public void get(long index, W value) {
+		
+		converter.call(locate(index).get(), value);
+	}
+	
+	// Moves this thread's RandomAccess to the pixel at a raw index
+	
+	private RandomAccess<U> locate(long index) {
+		
+		if (index < 0 || index >= size)
+			throw new IllegalArgumentException("index out of bounds");
+
+		Accessor<U> accessor = accessors.get();
+		
+		long[] position = accessor.position;
+		
+		for (int i = 0; i < dims.length; i++) {
+			
+			position[i] = index % dims[i];
+			
+			index /= dims[i];
+		}
+		
+		accessor.access.setPosition(position);
+		
+		return accessor.access;
+	}
+
+	@Override
+	public long size() {
+		
+		return size;
+	}
+
+	@Override
+	public StorageConstruction storageType() {
+		
+		return storageType;
+	}
+	
+	// Array and planar images sit in memory. Anything else (SCIFIO's cell
+	//   images) loads its pixels from the file as they are touched.
+	
+	private static <U> StorageConstruction storageType(SCIFIOImgPlus<U> input) {
+		
+		Img<U> img = Scifio.baseImg(input);
+		
+		if (img instanceof ArrayImg || img instanceof PlanarImg)
+			return StorageConstruction.MEM_ARRAY;
+		
+		return StorageConstruction.MEM_VIRTUAL;
+	}
+
+	@Override
+	public boolean accessWithOneThread() {
+		
+		return false;
+	}
+	
+	private static class Accessor<U> {
+		
+		final RandomAccess<U> access;
+		
+		final long[] position;
+		
+		Accessor(RandomAccess<U> access, int numD) {
+			
+			this.access = access;
+			
+			this.position = new long[numD];
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * A {@link CompletableFuture} whose cancel(true) interrupts the thread
+ * running its task. Plain CompletableFutures ignore the interrupt flag.
+ * 
+ * @author Barry DeZonia
+ *
+ * @param <T>
+ */
+class InterruptibleFuture<T>
+	extends CompletableFuture<T>
+{
+	private Thread runner = null;
+	
+	/**
+	 * Run a task on an executor and return a future for its result.
+	 * 
+	 * @param <T>
+	 * @param task
+	 * @param executor
+	 * @return
+	 */
+	static <T> InterruptibleFuture<T> supply(Supplier<T> task, Executor executor) {
+		
+		InterruptibleFuture<T> future = new InterruptibleFuture<>();
+		
+		executor.execute(() -> future.run(task));
+		
+		return future;
+	}
+	
+	private void run(Supplier<T> task) {
+		
+		synchronized (this) {
+			
+			// cancelled before it started
+			
+			if (isDone())
+				return;
+			
+			runner = Thread.currentThread();
+		}
+		
+		try {
+			
+			complete(task.get());
+		}
+		catch (Throwable t) {
+			
+			completeExceptionally(t);
+		}
+		finally {
+			
+			synchronized (this) {
+				
+				runner = null;
+				
+				// do not leave an interrupt meant for this task on a pooled thread
+				
+				Thread.interrupted();
+			}
+		}
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		
+		boolean cancelled = super.cancel(mayInterruptIfRunning);
+		
+		if (cancelled && mayInterruptIfRunning) {
+			
+			synchronized (this) {
+				
+				if (runner != null)
+					runner.interrupt();
+			}
+		}
+		
+		return cancelled;
+	}
+}
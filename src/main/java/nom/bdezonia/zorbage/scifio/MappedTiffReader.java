@@ -0,0 +1,317 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.scijava.Context;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.Metadata;
+import io.scif.SCIFIO;
+import io.scif.formats.MinimalTIFFFormat;
+import io.scif.formats.tiff.IFD;
+import io.scif.formats.tiff.IFDList;
+import io.scif.formats.tiff.TiffCompression;
+import io.scif.formats.tiff.TiffParser;
+import io.scif.util.FormatTools;
+import nom.bdezonia.zorbage.algebra.Allocatable;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.misc.DataBundle;
+
+/**
+ * A fast path for reading uncompressed TIFF files. When every plane of a
+ * file is stored as uncompressed, contiguous strips of single sample pixels
+ * the planes are memory mapped with {@link FileChannel#map}, many planes to
+ * a mapping, and their bytes converted straight into zorbage storage.
+ * SCIFIO's decoder and the intermediate imglib2 image are skipped entirely.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+class MappedTiffReader {
+
+	// the most bytes one MappedByteBuffer can span
+	
+	private static final long MAX_WINDOW = Integer.MAX_VALUE;
+	
+	private MappedTiffReader() { }
+	
+	/**
+	 * Reads a file through memory mapping. Returns null when the file or the
+	 * options are not ones this fast path handles so the caller can read the
+	 * file the normal way.
+	 * 
+	 * @param location
+	 * @param options
+	 * @return
+	 */
+	static DataBundle read(Location location, ReadOptions options) {
+		
+		if (!options.isMemoryMapped() || options.isZeroCopy() || !options.getRegion().isEmpty() ||
+				!options.getAxisIndices().isEmpty() ||
+				options.getResolutionLevel() != 0)
+			return null;
+		
+		File file = localFile(location);
+		
+		if (file == null || !file.isFile())
+			return null;
+		
+		// avoid parsing the metadata of other files twice
+		
+		String name = file.getName().toLowerCase();
+		
+		if (!name.endsWith(".tif") && !name.endsWith(".tiff"))
+			return null;
+		
+		if (!firstPlaneMappable(location))
+			return null;
+		
+		Metadata meta;
+		
+		try {
+			
+			meta = new SCIFIO(Scifio.getContext()).initializer().parseMetadata(location);
+		}
+		catch (IOException | FormatException e) {
+			
+			// let the normal path report the problem
+			
+			return null;
+		}
+		
+		try {
+			
+			if (!(meta instanceof MinimalTIFFFormat.Metadata) || meta.getImageCount() != 1)
+				return null;
+			
+			int[] indices = options.getImageIndices();
+			
+			if (indices != null && (indices.length != 1 || indices[0] != 0))
+				return null;
+			
+			ImageMetadata imageMeta = meta.get(0);
+			
+			int pixelType = imageMeta.getPixelType();
+			
+			Object type = Scifio.zorbageType(pixelType);
+			
+			if (type == null || !Scifio.wholeBytes(pixelType) || imageMeta.getBitsPerPixel() != 8 * FormatTools.getBytesPerPixel(pixelType))
+				return null;
+			
+			long[] planeDims = imageMeta.getAxesLengthsPlanar();
+			
+			if (planeDims.length != 2 || imageMeta.getInterleavedAxisCount() != 0)
+				return null;
+			
+			long planeBytes = planeDims[0] * planeDims[1] * FormatTools.getBytesPerPixel(pixelType);
+			
+			if (planeBytes > Integer.MAX_VALUE)
+				return null;
+			
+			long[] planeOffsets = planeOffsets(((MinimalTIFFFormat.Metadata) meta).getIfds(), imageMeta.getPlaneCount(), planeBytes);
+			
+			if (planeOffsets == null)
+				return null;
+			
+			DataBundle bundle = new DataBundle();
+			
+			DimensionedDataSource<?> output = readPlanes(file, imageMeta, (Allocatable<?>) type, planeOffsets, planeBytes, options);
+			
+			Scifio.updateMetadata(meta, 0, location, output);
+			
+			Scifio.mergeDataset(bundle, pixelType, output);
+			
+			return bundle;
+		}
+		finally {
+			
+			Scifio.closeMetadata(meta);
+		}
+	}
+	
+	// Reads only the header and first IFD so that compressed, tiled or
+	//   interleaved files are turned away without fully parsing their
+	//   metadata, which the normal read path would then do a second time.
+	
+	private static boolean firstPlaneMappable(Location location) {
+		
+		Context context = Scifio.getContext();
+		
+		DataHandleService handles = context.getService(DataHandleService.class);
+		
+		try (DataHandle<Location> handle = handles.create(location)) {
+			
+			IFD ifd = new TiffParser(context, handle).getFirstIFD();
+			
+			return ifd != null && ifd.getCompression() == TiffCompression.UNCOMPRESSED &&
+					!ifd.isTiled() && ifd.getSamplesPerPixel() == 1;
+		}
+		catch (IOException | FormatException e) {
+			
+			// let the normal path report the problem
+			
+			return false;
+		}
+	}
+	
+	private static File localFile(Location location) {
+		
+		if (location instanceof FileLocation)
+			return ((FileLocation) location).getFile();
+		
+		if ("file".equals(location.getURI().getScheme()))
+			return new File(location.getURI());
+		
+		return null;
+	}
+	
+	// Returns the file offset of each plane or null if any plane is not
+	//   stored as one uncompressed run of single sample pixels.
+	
+	private static long[] planeOffsets(IFDList ifds, long planeCount, long planeBytes) {
+		
+		if (ifds == null || ifds.size() != planeCount)
+			return null;
+		
+		long[] offsets = new long[ifds.size()];
+		
+		try {
+			
+			for (int p = 0; p < ifds.size(); p++) {
+				
+				IFD ifd = ifds.get(p);
+				
+				if (ifd.getCompression() != TiffCompression.UNCOMPRESSED || ifd.isTiled() || ifd.getSamplesPerPixel() != 1)
+					return null;
+				
+				long[] stripOffsets = ifd.getStripOffsets();
+				
+				long[] stripByteCounts = ifd.getStripByteCounts();
+				
+				if (stripOffsets.length == 0 || stripOffsets.length != stripByteCounts.length)
+					return null;
+				
+				long end = stripOffsets[0];
+				
+				for (int s = 0; s < stripOffsets.length; s++) {
+					
+					if (stripOffsets[s] != end)
+						return null;
+					
+					end += stripByteCounts[s];
+				}
+				
+				// the last strip can be padded but never short
+				
+				if (end - stripOffsets[0] < planeBytes)
+					return null;
+				
+				offsets[p] = stripOffsets[0];
+			}
+		}
+		catch (FormatException e) {
+			
+			return null;
+		}
+		
+		return offsets;
+	}
+	
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static DimensionedDataSource<?> readPlanes(File file, ImageMetadata imageMeta, Allocatable type, long[] planeOffsets, long planeBytes, ReadOptions options) {
+		
+		long[] dims = imageMeta.getAxesLengths();
+		
+		long estimatedBytes = planeBytes * planeOffsets.length;
+		
+		DimensionedDataSource<?> output = Scifio.makeDataset(dims, estimatedBytes, type, options);
+		
+		int pixelType = imageMeta.getPixelType();
+		
+		ByteOrder byteOrder = imageMeta.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+		
+		long planeSize = planeBytes / FormatTools.getBytesPerPixel(pixelType);
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			
+			// zorbage and SCIFIO both number planes with dimension 2 varying
+			//   fastest so plane p is the p'th run of planeSize values. Each
+			//   mapping is a window over as many following planes as fit in
+			//   one buffer since a mapping per plane costs a system call and
+			//   page table setup for every plane.
+			
+			int p = 0;
+			
+			while (p < planeOffsets.length) {
+				
+				long windowStart = planeOffsets[p];
+				
+				long windowEnd = windowStart + planeBytes;
+				
+				int end = p + 1;
+				
+				while (end < planeOffsets.length && planeOffsets[end] >= windowStart &&
+						planeOffsets[end] + planeBytes - windowStart <= MAX_WINDOW)
+				{
+					windowEnd = Math.max(windowEnd, planeOffsets[end] + planeBytes);
+					
+					end++;
+				}
+				
+				MappedByteBuffer bytes = channel.map(MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+				
+				bytes.order(byteOrder);
+				
+				for ( ; p < end; p++) {
+					
+					Scifio.checkCancelled();
+					
+					bytes.position((int) (planeOffsets[p] - windowStart));
+					
+					PlaneReader.convert(pixelType, bytes, output.rawData(), p * planeSize, planeSize);
+				}
+			}
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+		
+		return output;
+	}
+}
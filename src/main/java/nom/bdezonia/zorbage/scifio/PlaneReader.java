@@ -0,0 +1,366 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import org.scijava.io.location.Location;
+
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.Plane;
+import io.scif.Reader;
+import io.scif.SCIFIO;
+import io.scif.util.FormatTools;
+import net.imagej.axis.CalibratedAxis;
+import nom.bdezonia.zorbage.algebra.Allocatable;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
+import nom.bdezonia.zorbage.type.integer.int16.SignedInt16Member;
+import nom.bdezonia.zorbage.type.integer.int16.UnsignedInt16Member;
+import nom.bdezonia.zorbage.type.integer.int32.SignedInt32Member;
+import nom.bdezonia.zorbage.type.integer.int32.UnsignedInt32Member;
+import nom.bdezonia.zorbage.type.integer.int8.SignedInt8Member;
+import nom.bdezonia.zorbage.type.integer.int8.UnsignedInt8Member;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+import nom.bdezonia.zorbage.type.real.float64.Float64Member;
+
+/**
+ * Reads the planes of one image of a file one at a time using SCIFIO's
+ * {@link Reader}. Only one plane is ever held in memory. Each call to
+ * {@link #readPlane(long)} decodes into the same SCIFIO plane and refills
+ * and returns the same plane buffer.
+ * Dimension 0 of the buffer is the first planar axis of the image (for
+ * interleaved data that can be Channel rather than X).
+ * 
+ * <p>
+ * {@link #type()} returns the zorbage type of the planes. The type
+ * parameter of a reader must match it.
+ * 
+ * @author Barry DeZonia
+ *
+ * @param <U> the zorbage type of the plane values
+ */
+public class PlaneReader<U extends Allocatable<U>>
+	implements AutoCloseable
+{
+	private final SCIFIO scifio;
+	
+	private final Reader reader;
+	
+	private final int imageIndex;
+	
+	private final int pixelType;
+	
+	private final ByteOrder byteOrder;
+	
+	private final long planeCount;
+	
+	private final U type;
+	
+	private final DimensionedDataSource<U> buffer;
+	
+	// the reader decodes into the same plane on every call after the first
+	
+	private Plane plane = null;
+
+	/**
+	 * Use {@link Scifio#openPlanes(String, int)} to create a PlaneReader.
+	 * 
+	 * @param location
+	 * @param imageIndex
+	 */
+	@SuppressWarnings("unchecked")
+	PlaneReader(Location location, int imageIndex) {
+		
+		this.scifio = new SCIFIO(Scifio.getContext());
+		
+		this.imageIndex = imageIndex;
+
+		try {
+			
+			this.reader = scifio.initializer().initializeReader(location);
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+		catch (FormatException e) {
+			
+			throw new IllegalArgumentException("cannot read file format of " + location, e);
+		}
+		
+		if (imageIndex < 0 || imageIndex >= reader.getImageCount()) {
+			
+			close();
+			
+			throw new IllegalArgumentException("image index out of bounds");
+		}
+		
+		ImageMetadata meta = reader.getMetadata().get(imageIndex);
+		
+		this.pixelType = meta.getPixelType();
+		
+		this.byteOrder = meta.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+		
+		this.planeCount = meta.getPlaneCount();
+		
+		this.type = (U) Scifio.zorbageType(pixelType);
+
+		if (type == null || !Scifio.wholeBytes(pixelType)) {
+			
+			close();
+			
+			throw new IllegalArgumentException("unsupported pixel type: " + FormatTools.getPixelTypeString(pixelType));
+		}
+
+		List<CalibratedAxis> axes = meta.getAxesPlanar();
+		
+		this.buffer = DimensionedStorage.allocate(type, meta.getAxesLengthsPlanar());
+		
+		for (int i = 0; i < axes.size(); i++) {
+			
+			buffer.setAxisType(i, axes.get(i).type().toString());
+			
+			buffer.setAxisUnit(i, axes.get(i).unit());
+		}
+		
+		buffer.setName(meta.getName());
+		
+		buffer.setSource(location.getURI().toString());
+	}
+	
+	/**
+	 * Returns an instance of the zorbage type that planes are converted to.
+	 */
+	public U type() {
+		
+		return type.allocate();
+	}
+	
+	/**
+	 * Returns the number of planes in the image.
+	 */
+	public long planeCount() {
+		
+		return planeCount;
+	}
+	
+	/**
+	 * Decodes one plane and converts it into the reusable plane buffer.
+	 * The returned data source is overwritten by the next call.
+	 * 
+	 * @param planeIndex
+	 * @return
+	 */
+	public DimensionedDataSource<U> readPlane(long planeIndex) {
+		
+		if (planeIndex < 0 || planeIndex >= planeCount)
+			throw new IllegalArgumentException("plane index out of bounds");
+		
+		try {
+			
+			if (plane == null)
+				plane = reader.openPlane(imageIndex, planeIndex);
+			else
+				plane = reader.openPlane(imageIndex, planeIndex, plane);
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+		catch (FormatException e) {
+			
+			throw new IllegalArgumentException("cannot decode plane " + planeIndex, e);
+		}
+		
+		ByteBuffer bytes = ByteBuffer.wrap(plane.getBytes()).order(byteOrder);
+		
+		convert(pixelType, bytes, buffer.rawData(), 0, buffer.rawData().size());
+		
+		return buffer;
+	}
+	
+	/**
+	 * Releases the underlying SCIFIO reader. The shared context stays alive.
+	 */
+	@Override
+	public void close() {
+		
+		try {
+			
+			reader.close();
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	// Converts count values from the bytes into raw storage starting at the
+	//   given offset. The byte buffer's order must match the file's.
+	
+	@SuppressWarnings("unchecked")
+	static void convert(int pixelType, ByteBuffer bytes, IndexedDataSource<?> raw, long offset, long count) {
+		
+		switch (pixelType) {
+		
+		case FormatTools.INT8: {
+			
+			IndexedDataSource<SignedInt8Member> dest = (IndexedDataSource<SignedInt8Member>) raw;
+			
+			SignedInt8Member value = new SignedInt8Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.get());
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+			
+		case FormatTools.UINT8: {
+			
+			IndexedDataSource<UnsignedInt8Member> dest = (IndexedDataSource<UnsignedInt8Member>) raw;
+			
+			UnsignedInt8Member value = new UnsignedInt8Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.get() & 0xff);
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+			
+		case FormatTools.INT16: {
+			
+			IndexedDataSource<SignedInt16Member> dest = (IndexedDataSource<SignedInt16Member>) raw;
+			
+			SignedInt16Member value = new SignedInt16Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.getShort());
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+			
+		case FormatTools.UINT16: {
+			
+			IndexedDataSource<UnsignedInt16Member> dest = (IndexedDataSource<UnsignedInt16Member>) raw;
+			
+			UnsignedInt16Member value = new UnsignedInt16Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.getShort() & 0xffff);
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+			
+		case FormatTools.INT32: {
+			
+			IndexedDataSource<SignedInt32Member> dest = (IndexedDataSource<SignedInt32Member>) raw;
+			
+			SignedInt32Member value = new SignedInt32Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.getInt());
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+			
+		case FormatTools.UINT32: {
+			
+			IndexedDataSource<UnsignedInt32Member> dest = (IndexedDataSource<UnsignedInt32Member>) raw;
+			
+			UnsignedInt32Member value = new UnsignedInt32Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.getInt() & 0xffffffffL);
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+			
+		case FormatTools.FLOAT: {
+			
+			IndexedDataSource<Float32Member> dest = (IndexedDataSource<Float32Member>) raw;
+			
+			Float32Member value = new Float32Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.getFloat());
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+			
+		case FormatTools.DOUBLE: {
+			
+			IndexedDataSource<Float64Member> dest = (IndexedDataSource<Float64Member>) raw;
+			
+			Float64Member value = new Float64Member();
+			
+			for (long i = 0; i < count; i++) {
+				
+				value.setV(bytes.getDouble());
+				
+				dest.set(offset + i, value);
+			}
+			
+			break;
+		}
+		
+		default:
+			throw new IllegalArgumentException("unsupported pixel type: " + FormatTools.getPixelTypeString(pixelType));
+		}
+	}
+}
@@ -0,0 +1,408 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.scijava.io.location.FileLocation;
+
+import io.scif.ByteArrayPlane;
+import io.scif.DefaultImageMetadata;
+import io.scif.DefaultMetadata;
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.SCIFIO;
+import io.scif.Writer;
+import io.scif.util.FormatTools;
+import net.imagej.axis.Axes;
+import net.imagej.axis.AxisType;
+import net.imagej.axis.CalibratedAxis;
+import net.imagej.axis.DefaultLinearAxis;
+import net.imglib2.Cursor;
+import net.imglib2.FinalInterval;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgFactory;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.type.NativeType;
+import nom.bdezonia.zorbage.algebra.Algebra;
+import nom.bdezonia.zorbage.coordinates.CoordinateSpace;
+import nom.bdezonia.zorbage.coordinates.LinearNdCoordinateSpace;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
+import nom.bdezonia.zorbage.procedure.Procedure2;
+
+/**
+ * Writes datasets to a file one plane at a time using SCIFIO's
+ * {@link Writer}. Each plane is converted into a reusable buffer and saved
+ * before the next one is converted so memory use does not grow with the
+ * size of the dataset.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+class PlaneWriter
+	implements AutoCloseable
+{
+	private static final ByteOrder BYTE_ORDER = ByteOrder.BIG_ENDIAN;
+	
+	private final List<ImageMetadata> images;
+	
+	private final Writer writer;
+	
+	/**
+	 * 
+	 * @param filename
+	 * @param images one entry per image, as made by {@link #imageMetadata(DimensionedDataSource, int)}
+	 */
+	PlaneWriter(String filename, List<ImageMetadata> images) {
+		
+		this.images = images;
+		
+		DefaultMetadata meta = new DefaultMetadata(new ArrayList<>(images));
+		
+		meta.setContext(Scifio.getContext());
+		
+		meta.setDatasetName(new File(filename).getName());
+		
+		SCIFIO scifio = new SCIFIO(Scifio.getContext());
+		
+		try {
+			
+			this.writer = scifio.initializer().initializeWriter(meta, new FileLocation(filename));
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+		catch (FormatException e) {
+			
+			throw new IllegalArgumentException("cannot write file format of " + filename, e);
+		}
+	}
+	
+	/**
+	 * Returns the SCIFIO pixel type that values of the given imglib2 type are
+	 * written as or -1 if the type cannot be streamed.
+	 * 
+	 * @param outputType
+	 * @return
+	 */
+	static int pixelType(Object outputType) {
+		
+		int pixelType = Scifio.imglibPixelType(outputType);
+		
+		return Scifio.wholeBytes(pixelType) ? pixelType : -1;
+	}
+	
+	/**
+	 * Returns true if a dataset can be written plane by plane as the given
+	 * imglib2 type.
+	 * 
+	 * @param data
+	 * @param outputType
+	 * @return
+	 */
+	static boolean canStream(DimensionedDataSource<?> data, Object outputType) {
+		
+		int pixelType = pixelType(outputType);
+		
+		if (pixelType < 0)
+			return false;
+		
+		return planeSize(data) * FormatTools.getBytesPerPixel(pixelType) <= Integer.MAX_VALUE;
+	}
+	
+	/**
+	 * Describes one image of the output file. Dimensions 0 and 1 of the
+	 * dataset are written as the X and Y axes of the planes. The axis units
+	 * and, for a linear coordinate space, the scale and offset of each
+	 * dimension are written as the calibration of its axis.
+	 * 
+	 * @param data
+	 * @param pixelType
+	 * @return
+	 */
+	static ImageMetadata imageMetadata(DimensionedDataSource<?> data, int pixelType) {
+		
+		int numD = Math.max(2, data.numDimensions());
+		
+		CalibratedAxis[] axes = new CalibratedAxis[numD];
+		
+		long[] lengths = new long[numD];
+		
+		CoordinateSpace space = data.getCoordinateSpace();
+		
+		for (int i = 0; i < numD; i++) {
+			
+			if (i >= data.numDimensions()) {
+				
+				lengths[i] = 1;
+				
+				axes[i] = new DefaultLinearAxis(axisType(data, i));
+			}
+			else if (space instanceof LinearNdCoordinateSpace) {
+				
+				LinearNdCoordinateSpace linear = (LinearNdCoordinateSpace) space;
+				
+				lengths[i] = data.dimension(i);
+				
+				axes[i] = new DefaultLinearAxis(axisType(data, i), data.getAxisUnit(i),
+						linear.getScale(i).doubleValue(), linear.getOffset(i).doubleValue());
+			}
+			else {
+				
+				lengths[i] = data.dimension(i);
+				
+				axes[i] = new DefaultLinearAxis(axisType(data, i));
+				
+				axes[i].setUnit(data.getAxisUnit(i));
+			}
+		}
+		
+		DefaultImageMetadata meta = new DefaultImageMetadata();
+		
+		meta.setName(data.getName());
+		
+		meta.setPixelType(pixelType);
+		
+		meta.setBitsPerPixel(8 * FormatTools.getBytesPerPixel(pixelType));
+		
+		meta.setLittleEndian(BYTE_ORDER == ByteOrder.LITTLE_ENDIAN);
+		
+		meta.setOrderCertain(true);
+		
+		meta.setMetadataComplete(true);
+		
+		meta.setPlanarAxisCount(2);
+		
+		meta.setAxes(axes, lengths);
+		
+		return meta;
+	}
+	
+	/**
+	 * Converts every plane of a dataset and saves it as the given image of
+	 * the file. With parallelism above 1 each plane is split between tasks
+	 * that convert their parts of it concurrently.
+	 * 
+	 * @param <II>
+	 * @param <I>
+	 * @param <O>
+	 * @param imageIndex
+	 * @param alg
+	 * @param data
+	 * @param outputType
+	 * @param converter
+	 * @param options
+	 */
+	<II extends Algebra<II,I>, I, O extends NativeType<O>>
+	
+		void write(int imageIndex, II alg, DimensionedDataSource<I> data, O outputType, Procedure2<I,O> converter, WriteOptions options)
+	{
+		ImageMetadata meta = images.get(imageIndex);
+		
+		long[] planeDims = new long[] {meta.getAxesLengths()[0], meta.getAxesLengths()[1]};
+		
+		long planeSize = planeDims[0] * planeDims[1];
+		
+		if (planeSize == 0)
+			return;
+		
+		long planeCount = data.rawData().size() / planeSize;
+		
+		ArrayImg<O, ?> buffer = new ArrayImgFactory<O>(outputType).create(planeDims);
+		
+		ByteArrayPlane plane = new ByteArrayPlane(Scifio.getContext(), meta, new FinalInterval(planeDims));
+		
+		IndexedDataSource<I> raw = data.rawData();
+		
+		int numTasks = options.getParallelism();
+		
+		if (numTasks > planeSize)
+			numTasks = (int) planeSize;
+		
+		// some storage types (like file backed ones) cannot be read from by
+		//   multiple threads at once
+		
+		if (raw.accessWithOneThread())
+			numTasks = 1;
+		
+		// each worker gets its own input value so that nothing is shared
+		
+		List<I> values = new ArrayList<>();
+		
+		for (int t = 0; t < numTasks; t++) {
+			
+			values.add(alg.construct());
+		}
+		
+		// zorbage and SCIFIO both order planes with dimension 2 varying
+		//   fastest so plane p is the p'th run of planeSize values
+		
+		for (long p = 0; p < planeCount; p++) {
+			
+			Scifio.checkCancelled();
+			
+			long offset = p * planeSize;
+			
+			if (numTasks == 1) {
+				
+				convert(raw, offset, buffer, 0, planeSize, values.get(0), converter);
+			}
+			else {
+				
+				List<Callable<Object>> tasks = new ArrayList<>();
+				
+				for (int t = 0; t < numTasks; t++) {
+					
+					long first = planeSize * t / numTasks;
+					
+					long end = planeSize * (t+1) / numTasks;
+					
+					I value = values.get(t);
+					
+					tasks.add(new Callable<Object>() {
+						
+						@Override
+						public Object call() {
+							
+							convert(raw, offset, buffer, first, end, value, converter);
+							
+							return null;
+						}
+					});
+				}
+				
+				Scifio.runTasks(tasks, options.getExecutor());
+			}
+			
+			encode(((ArrayDataAccess<?>) buffer.update(null)).getCurrentStorageArray(), plane.getData());
+			
+			try {
+				
+				writer.savePlane(imageIndex, p, plane);
+			}
+			catch (IOException e) {
+				
+				throw new UncheckedIOException(e);
+			}
+			catch (FormatException e) {
+				
+				throw new IllegalArgumentException("cannot save plane " + p, e);
+			}
+		}
+	}
+	
+	/**
+	 * Finishes the file and releases the underlying SCIFIO writer.
+	 */
+	@Override
+	public void close() {
+		
+		try {
+			
+			writer.close();
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	// Converts the plane buffer elements numbered first (inclusive) to end
+	// (exclusive) from the raw values that start at offset. The buffer holds
+	// primitive types only so tasks can fill disjoint parts of it at once.
+	
+	private static <I, O extends NativeType<O>>
+	
+		void convert(IndexedDataSource<I> raw, long offset, ArrayImg<O, ?> buffer, long first, long end, I inputValue, Procedure2<I,O> converter)
+	{
+		Cursor<O> cursor = buffer.cursor();
+		
+		cursor.jumpFwd(first);
+		
+		for (long i = first; i < end; i++) {
+			
+			raw.get(offset + i, inputValue);
+			
+			converter.call(inputValue, cursor.next());
+		}
+	}
+	
+	private static long planeSize(DimensionedDataSource<?> data) {
+		
+		long size = data.dimension(0);
+		
+		if (data.numDimensions() > 1)
+			size *= data.dimension(1);
+		
+		return size;
+	}
+	
+	private static AxisType axisType(DimensionedDataSource<?> data, int i) {
+		
+		if (i == 0)
+			return Axes.X;
+		
+		if (i == 1)
+			return Axes.Y;
+		
+		String label = data.getAxisType(i);
+		
+		if (label == null || label.isEmpty())
+			return Axes.unknown();
+		
+		return Axes.get(label);
+	}
+	
+	private static void encode(Object array, byte[] bytes) {
+		
+		ByteBuffer buf = ByteBuffer.wrap(bytes).order(BYTE_ORDER);
+		
+		if (array instanceof byte[])
+			buf.put((byte[]) array);
+		
+		else if (array instanceof short[])
+			buf.asShortBuffer().put((short[]) array);
+		
+		else if (array instanceof int[])
+			buf.asIntBuffer().put((int[]) array);
+		
+		else if (array instanceof float[])
+			buf.asFloatBuffer().put((float[]) array);
+		
+		else if (array instanceof double[])
+			buf.asDoubleBuffer().put((double[]) array);
+		
+		else
+			throw new IllegalArgumentException("unsupported plane storage: " + array.getClass());
+	}
+}
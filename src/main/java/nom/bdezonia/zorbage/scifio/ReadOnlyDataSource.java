@@ -0,0 +1,89 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
+import nom.bdezonia.zorbage.storage.StorageConstruction;
+
+/**
+ * An {@link IndexedDataSource} that reads through to another one and rejects
+ * every write. {@link BundleCache} hands these out so that no caller can
+ * change the values another caller sees.
+ * 
+ * @author Barry DeZonia
+ *
+ * @param <U> the type of the values
+ */
+class ReadOnlyDataSource<U>
+	implements IndexedDataSource<U>
+{
+	private final IndexedDataSource<U> source;
+
+	/**
+	 * 
+	 * @param source
+	 */
+	ReadOnlyDataSource(IndexedDataSource<U> source) {
+		
+		this.source = source;
+	}
+	
+	// A duplicate is a writable copy of the values
+	
+	@Override
+	public IndexedDataSource<U> duplicate() {
+		
+		return source.duplicate();
+	}
+
+	@Override
+	public void set(long index, U value) {
+		
+		throw new UnsupportedOperationException("cached data is read only: duplicate it to make changes");
+	}
+
+	@Override
+	public void get(long index, U value) {
+		
+		source.get(index, value);
+	}
+
+	@Override
+	public long size() {
+		
+		return source.size();
+	}
+
+	@Override
+	public StorageConstruction storageType() {
+		
+		return source.storageType();
+	}
+
+	@Override
+	public boolean accessWithOneThread() {
+		
+		return source.accessWithOneThread();
+	}
+}
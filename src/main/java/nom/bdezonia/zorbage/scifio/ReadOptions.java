@@ -0,0 +1,532 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Options that control how {@link Scifio} reads datasets.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class ReadOptions {
+
+	private int parallelism = 1;
+	
+	private ExecutorService executor = null;
+	
+	private boolean zeroCopy = false;
+	
+	private int[] imageIndices = null;
+	
+	private final Map<String, long[]> region = new LinkedHashMap<>();
+	
+	private final Map<String, long[]> axisIndices = new LinkedHashMap<>();
+	
+	private boolean fileBacked = false;
+	
+	private long fileBackedThreshold = Long.MAX_VALUE;
+	
+	private Consumer<String> warningHandler = System.out::println;
+	
+	private boolean memoryMapped = false;
+	
+	private DiskCache diskCache = null;
+	
+	private boolean tiled = false;
+	
+	private int resolutionLevel = 0;
+	
+	/**
+	 * 
+	 */
+	public ReadOptions() { }
+	
+	/**
+	 * Make a copy of another set of options.
+	 * 
+	 * @param other
+	 */
+	public ReadOptions(ReadOptions other) {
+		
+		this.parallelism = other.parallelism;
+		
+		this.executor = other.executor;
+		
+		this.zeroCopy = other.zeroCopy;
+		
+		this.imageIndices = other.imageIndices;
+		
+		for (Map.Entry<String, long[]> entry : other.region.entrySet()) {
+			
+			this.region.put(entry.getKey(), entry.getValue().clone());
+		}
+		
+		for (Map.Entry<String, long[]> entry : other.axisIndices.entrySet()) {
+			
+			this.axisIndices.put(entry.getKey(), entry.getValue().clone());
+		}
+		
+		this.fileBacked = other.fileBacked;
+		
+		this.fileBackedThreshold = other.fileBackedThreshold;
+		
+		this.warningHandler = other.warningHandler;
+		
+		this.memoryMapped = other.memoryMapped;
+		
+		this.diskCache = other.diskCache;
+		
+		this.tiled = other.tiled;
+		
+		this.resolutionLevel = other.resolutionLevel;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public int getParallelism() {
+		
+		return parallelism;
+	}
+	
+	/**
+	 * Set the number of tasks that planes are split between when copying
+	 * pixels into zorbage storage. 1 (the default) copies on the calling
+	 * thread.
+	 * 
+	 * @param numTasks
+	 * @return
+	 */
+	public ReadOptions setParallelism(int numTasks) {
+		
+		if (numTasks < 1)
+			throw new IllegalArgumentException("parallelism must be > 0");
+		
+		this.parallelism = numTasks;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public ExecutorService getExecutor() {
+		
+		return executor;
+	}
+	
+	/**
+	 * Set the executor that runs the plane copying tasks when parallelism
+	 * is greater than 1. When null the common ForkJoinPool is used.
+	 * 
+	 * @param executor
+	 * @return
+	 */
+	public ReadOptions setExecutor(ExecutorService executor) {
+		
+		this.executor = executor;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isZeroCopy() {
+		
+		return zeroCopy;
+	}
+	
+	/**
+	 * When true each dataset is a view that wraps the SCIFIO image and
+	 * converts values as they are accessed rather than a copy of its pixels.
+	 * This halves peak memory use for data that is read only once.
+	 * <p>
+	 * Values set in such a dataset write through to the image. Integer,
+	 * float, complex and ARGB values are stored through the primitive
+	 * setters of the matching imglib2 type, as are the 1 to 15 bit and 128
+	 * bit unsigned types SCIFIO reads as BitType, UnsignedByteType,
+	 * UnsignedShortType, the fixed bit length types or
+	 * UnsignedVariableBitLengthType. Any other pairing is stored through the
+	 * value's BigDecimal. Datasets read with readAllDatasetsAs() store
+	 * (value - offset) / scale in real or complex images. The image itself
+	 * stays in memory or in SCIFIO's cell cache; nothing is written back to
+	 * the file. duplicate() of the raw data returns a plain copy that no
+	 * longer writes through.
+	 *
+	 * @param zeroCopy
+	 * @return
+	 */
+	public ReadOptions setZeroCopy(boolean zeroCopy) {
+		
+		this.zeroCopy = zeroCopy;
+		
+		return this;
+	}
+	
+	/**
+	 * Returns the sorted indices of the images to read or null if all
+	 * images will be read.
+	 */
+	public int[] getImageIndices() {
+		
+		return imageIndices == null ? null : imageIndices.clone();
+	}
+	
+	/**
+	 * Restrict reading to the given images (series) of a file. Pass no
+	 * indices to read all images.
+	 * 
+	 * @param indices
+	 * @return
+	 */
+	public ReadOptions setImageIndices(int... indices) {
+		
+		if (indices == null || indices.length == 0) {
+			
+			this.imageIndices = null;
+			
+			return this;
+		}
+		
+		for (int index : indices) {
+			
+			if (index < 0)
+				throw new IllegalArgumentException("image index must be >= 0");
+		}
+		
+		this.imageIndices = Arrays.stream(indices).distinct().sorted().toArray();
+		
+		return this;
+	}
+	
+	/**
+	 * Restrict reading to the given images (series) of a file. Pass an
+	 * empty set to read all images.
+	 * 
+	 * @param indices
+	 * @return
+	 */
+	public ReadOptions setImageIndices(Set<Integer> indices) {
+		
+		return setImageIndices(indices.stream().mapToInt(Integer::intValue).toArray());
+	}
+	
+	/**
+	 * Returns the region bounds set so far keyed by axis type. Each value
+	 * is a two element {min, max} array.
+	 */
+	public Map<String, long[]> getRegion() {
+		
+		return Collections.unmodifiableMap(region);
+	}
+	
+	/**
+	 * Only read the min to max (inclusive) positions along one axis. The
+	 * axis is named the way read datasets name their axis types (e.g. "X",
+	 * "Y", "Z", "Channel", "Time"). Axes with no bounds are read in full.
+	 * SCIFIO only decodes the parts of the file that the region touches and
+	 * the coordinate space of the result is offset to the region's origin.
+	 * 
+	 * @param axisType
+	 * @param min
+	 * @param max
+	 * @return
+	 */
+	public ReadOptions setRegion(String axisType, long min, long max) {
+		
+		if (min < 0)
+			throw new IllegalArgumentException("region min must be >= 0");
+		
+		if (max < min)
+			throw new IllegalArgumentException("region max must be >= region min");
+		
+		region.put(axisType, new long[] {min, max});
+		
+		axisIndices.remove(axisType);
+		
+		return this;
+	}
+	
+	/**
+	 * Returns the index selections set so far keyed by axis type. Each value
+	 * holds the sorted positions to read along that axis.
+	 */
+	public Map<String, long[]> getAxisIndices() {
+		
+		return Collections.unmodifiableMap(axisIndices);
+	}
+	
+	/**
+	 * Only read the given positions along one non XY axis, for instance some
+	 * channels or timepoints. The axis is named the way read datasets name
+	 * their axis types (e.g. "Z", "Channel", "Time"). SCIFIO only decodes the
+	 * planes at the chosen positions and the result holds just those planes
+	 * in increasing order. This replaces any region bounds set on the same
+	 * axis. Pass no indices to read the axis in full.
+	 * 
+	 * @param axisType
+	 * @param indices
+	 * @return
+	 */
+	public ReadOptions setAxisIndices(String axisType, long... indices) {
+		
+		if ("X".equals(axisType) || "Y".equals(axisType))
+			throw new IllegalArgumentException("use setRegion() to restrict the X and Y axes");
+		
+		if (indices == null || indices.length == 0) {
+			
+			axisIndices.remove(axisType);
+			
+			return this;
+		}
+		
+		for (long index : indices) {
+			
+			if (index < 0)
+				throw new IllegalArgumentException("axis index must be >= 0");
+		}
+		
+		axisIndices.put(axisType, Arrays.stream(indices).distinct().sorted().toArray());
+		
+		region.remove(axisType);
+		
+		return this;
+	}
+	
+	/**
+	 * Only read the given positions along one non XY axis. Pass an empty set
+	 * to read the axis in full.
+	 * 
+	 * @param axisType
+	 * @param indices
+	 * @return
+	 */
+	public ReadOptions setAxisIndices(String axisType, Set<Long> indices) {
+		
+		return setAxisIndices(axisType, indices.stream().mapToLong(Long::longValue).toArray());
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isFileBacked() {
+		
+		return fileBacked;
+	}
+	
+	/**
+	 * When true datasets are allocated in zorbage's file backed storage
+	 * rather than in memory. SCIFIO is also told to use cell images so
+	 * neither side ever holds the whole image in memory.
+	 * 
+	 * @param fileBacked
+	 * @return
+	 */
+	public ReadOptions setFileBacked(boolean fileBacked) {
+		
+		this.fileBacked = fileBacked;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public long getFileBackedThreshold() {
+		
+		return fileBackedThreshold;
+	}
+	
+	/**
+	 * Images whose pixels are estimated to need more than this many bytes
+	 * are allocated in file backed storage even when file backing is not
+	 * turned on. Defaults to Long.MAX_VALUE (never).
+	 * 
+	 * @param numBytes
+	 * @return
+	 */
+	public ReadOptions setFileBackedThreshold(long numBytes) {
+		
+		if (numBytes < 0)
+			throw new IllegalArgumentException("threshold must be >= 0");
+		
+		this.fileBackedThreshold = numBytes;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public Consumer<String> getWarningHandler() {
+		
+		return warningHandler;
+	}
+	
+	/**
+	 * Set where warnings (such as images of a type that cannot be read
+	 * and are skipped) are sent. Defaults to printing to System.out.
+	 * 
+	 * @param handler
+	 * @return
+	 */
+	public ReadOptions setWarningHandler(Consumer<String> handler) {
+		
+		if (handler == null)
+			throw new IllegalArgumentException("warning handler must not be null");
+		
+		this.warningHandler = handler;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isMemoryMapped() {
+		
+		return memoryMapped;
+	}
+	
+	/**
+	 * When true local uncompressed TIFF files whose planes are stored as
+	 * contiguous strips are memory mapped and copied straight into zorbage
+	 * storage rather than being decoded by SCIFIO. All other files are read
+	 * the normal way. Zero copy and region reads always use the normal way.
+	 * Defaults to false.
+	 * 
+	 * @param memoryMapped
+	 * @return
+	 */
+	public ReadOptions setMemoryMapped(boolean memoryMapped) {
+		
+		this.memoryMapped = memoryMapped;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public DiskCache getDiskCache() {
+		
+		return diskCache;
+	}
+	
+	/**
+	 * Sets a cache of converted datasets that whole file reads of local files
+	 * check before decoding and fill afterwards. Reads of a region, of chosen
+	 * images or with zero copy bypass the cache. Null (the default) turns
+	 * caching off.
+	 * 
+	 * @param diskCache
+	 * @return
+	 */
+	public ReadOptions setDiskCache(DiskCache diskCache) {
+		
+		this.diskCache = diskCache;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isTiled() {
+		
+		return tiled;
+	}
+	
+	/**
+	 * When true SCIFIO is asked to hold images in cells sized to the reader's
+	 * native tiles or strips, which are decoded only when first touched, and
+	 * the cells are copied into zorbage storage one at a time. This bounds
+	 * the memory needed to read planes too big to decode whole, such as
+	 * those of whole slide images. Images that SCIFIO already holds in cells
+	 * (for example large ones) are always copied this way unless they are
+	 * read into file backed storage, which is filled plane by plane. The
+	 * default is false.
+	 * 
+	 * @param tiled
+	 * @return
+	 */
+	public ReadOptions setTiled(boolean tiled) {
+		
+		this.tiled = tiled;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public int getResolutionLevel() {
+		
+		return resolutionLevel;
+	}
+	
+	/**
+	 * Reads a preview at the given resolution level. Level 0 (the default) is
+	 * full resolution and each level above it halves the X and Y sizes by
+	 * keeping every other pixel, so level n keeps every 2^n'th pixel. The
+	 * scales of the output's coordinate space grow to match so it spans the
+	 * same extent. Zero copy reads ignore the level.
+	 * 
+	 * <p>
+	 * A preview only saves memory, not time: every tile or strip of the file
+	 * is still decoded. Pixels are picked without any smoothing so fine
+	 * detail can alias.
+	 * 
+	 * @param level
+	 * @return
+	 */
+	public ReadOptions setResolutionLevel(int level) {
+		
+		if (level < 0 || level > 30)
+			throw new IllegalArgumentException("resolution level must be between 0 and 30");
+		
+		this.resolutionLevel = level;
+		
+		return this;
+	}
+}
@@ -24,24 +24,70 @@
 package nom.bdezonia.zorbage.scifio;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.scijava.Context;
 import org.scijava.io.location.FileLocation;
 import org.scijava.io.location.Location;
 import org.scijava.io.location.URILocation;
 
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.Metadata;
+import io.scif.SCIFIO;
 import io.scif.config.SCIFIOConfig;
+import io.scif.config.SCIFIOConfig.ImgMode;
+import io.scif.img.ImageRegion;
 import io.scif.img.ImgOpener;
 import io.scif.img.ImgSaver;
 import io.scif.img.SCIFIOImgPlus;
+import io.scif.util.FormatTools;
+import net.imagej.ImgPlus;
+import net.imagej.axis.Axes;
+import net.imagej.axis.AxisType;
+import net.imagej.axis.CalibratedAxis;
 import net.imglib2.Cursor;
+import net.imglib2.Interval;
 import net.imglib2.RandomAccess;
 import net.imglib2.img.Img;
+import net.imglib2.img.ImgView;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgFactory;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.img.cell.AbstractCellImg;
+import net.imglib2.img.cell.Cell;
+import net.imglib2.img.cell.CellGrid;
+import net.imglib2.img.cell.CellImg;
 import net.imglib2.img.cell.CellImgFactory;
+import net.imglib2.img.planar.PlanarImg;
+import net.imglib2.img.planar.PlanarImgFactory;
 import net.imglib2.type.NativeType;
+import net.imglib2.type.logic.BitType;
 import net.imglib2.type.numeric.ARGBType;
+import net.imglib2.type.numeric.ComplexType;
+import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.complex.ComplexDoubleType;
 import net.imglib2.type.numeric.complex.ComplexFloatType;
 import net.imglib2.type.numeric.integer.ByteType;
@@ -59,19 +105,23 @@ import net.imglib2.type.numeric.integer.UnsignedShortType;
 import net.imglib2.type.numeric.integer.UnsignedVariableBitLengthType;
 import net.imglib2.type.numeric.real.DoubleType;
 import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.view.Views;
 import nom.bdezonia.zorbage.algebra.Algebra;
 import nom.bdezonia.zorbage.algebra.Allocatable;
 import nom.bdezonia.zorbage.algebra.GetAsBigDecimal;
-import nom.bdezonia.zorbage.algorithm.GridIterator;
+import nom.bdezonia.zorbage.algebra.SetFromDouble;
 import nom.bdezonia.zorbage.coordinates.LinearNdCoordinateSpace;
 import nom.bdezonia.zorbage.data.DimensionedDataSource;
 import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.data.NdData;
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
 import nom.bdezonia.zorbage.dataview.PlaneView;
 import nom.bdezonia.zorbage.misc.DataBundle;
 import nom.bdezonia.zorbage.misc.DataSourceUtils;
 import nom.bdezonia.zorbage.procedure.Procedure2;
-import nom.bdezonia.zorbage.sampling.IntegerIndex;
-import nom.bdezonia.zorbage.sampling.SamplingIterator;
+import nom.bdezonia.zorbage.storage.Storage;
+import nom.bdezonia.zorbage.storage.StorageConstruction;
+import nom.bdezonia.zorbage.tuple.Tuple2;
 import nom.bdezonia.zorbage.type.color.ArgbMember;
 import nom.bdezonia.zorbage.type.complex.float32.ComplexFloat32Member;
 import nom.bdezonia.zorbage.type.complex.float64.ComplexFloat64Member;
@@ -109,7 +159,130 @@ import nom.bdezonia.zorbage.type.real.float64.Float64Member;
  */
 public class Scifio {
 
+	// Building a SciJava context runs full plugin discovery, which can cost
+	//   more than decoding a small image. So one context is shared by every
+	//   read and write. Contexts and their services are thread safe. The
+	//   openers and savers made from them are cheap and made per call.
+	
+	private static volatile Context sharedContext = null;
+	
+	private static volatile BundleCache bundleCache = null;
+	
+	/**
+	 * Returns the SciJava context used by all reads and writes. It is
+	 * created on first use unless one was supplied by setContext().
+	 * 
+	 * @return
+	 */
+	public static
+	
+		Context
+		
+			getContext()
+	{
+		Context context = sharedContext;
+		
+		if (context == null) {
+			
+			synchronized (Scifio.class) {
+				
+				context = sharedContext;
+				
+				if (context == null) {
+					
+					context = new SCIFIO().getContext();
+					
+					sharedContext = context;
+				}
+			}
+		}
+		
+		return context;
+	}
+	
+	/**
+	 * Use the given SciJava context (for instance an application's own
+	 * context that already holds the SCIFIO services) for all later reads
+	 * and writes. The caller remains responsible for disposing it.
+	 * 
+	 * @param context
+	 */
+	public static
+	
+		void
+		
+			setContext(Context context)
+	{
+		if (context == null)
+			throw new IllegalArgumentException("context must not be null");
+		
+		synchronized (Scifio.class) {
+			
+			sharedContext = context;
+		}
+	}
+	
+	/**
+	 * Returns the in memory cache that whole file reads go through or null
+	 * if there is none.
+	 * 
+	 * @return
+	 */
+	public static
+	
+		BundleCache
+		
+			getBundleCache()
+	{
+		return bundleCache;
+	}
+	
+	/**
+	 * Use the given in memory cache for all later whole file reads of local
+	 * files. Reads of a region, of chosen images, with zero copy or into file
+	 * backed storage bypass it. The datasets of a cached read are read only.
+	 * Reads whose options build bundles differently (the file backed
+	 * threshold, memory mapping or tiling) are cached apart. Null (the
+	 * default) turns the cache off.
+	 * 
+	 * @param cache
+	 */
+	public static
+	
+		void
+		
+			setBundleCache(BundleCache cache)
+	{
+		bundleCache = cache;
+	}
+
+	/**
+	 * 
+	 * @param <II>
+	 * @param <I>
+	 * @param filename
+	 * @param alg
+	 * @param data
+	 * @return
+	 */
+	public static <II extends Algebra<II,I>, I extends GetAsBigDecimal>
+	
+		boolean writeAs(String filename, II alg, DimensionedDataSource<I> data)
+			
+	{
+		return writeAs(filename, alg, data, new WriteOptions());
+	}
+
 	/**
+	 * Saves a dataset. 8, 16, 32 and 64 bit integers and 32 and 64 bit
+	 * floats are saved as the matching SCIFIO type and 1 bit integers as
+	 * bits. Unsigned 2 to 7 bit integers are saved as unsigned bytes and
+	 * unsigned 9 to 15 bit integers as unsigned shorts, so they read back
+	 * as UInt8 and UInt16 with the same values. All other types whose
+	 * values can be fetched as BigDecimals (such as 128 bit and unbounded
+	 * integers and high precision reals) are saved as doubles and can lose
+	 * precision. Complex and ARGB types cannot be passed at all since their
+	 * values are not BigDecimals.
 	 * 
 	 * @param <II>
 	 * @param <I>
@@ -117,11 +290,12 @@ public class Scifio {
 	 * @param filename
 	 * @param alg
 	 * @param data
+	 * @param options
 	 * @return
 	 */
 	public static <II extends Algebra<II,I>, I extends GetAsBigDecimal, O extends NativeType<O>>
 	
-		boolean writeAs(String filename, II alg, DimensionedDataSource<I> data)
+		boolean writeAs(String filename, II alg, DimensionedDataSource<I> data, WriteOptions options)
 			
 	{
 		I inputValue = alg.construct();
@@ -134,342 +308,2492 @@ public class Scifio {
 			return false;
 		}
 
-		long[] dims = DataSourceUtils.dimensions(data);
-		
-		int numD = dims.length;
+		Procedure2<I,O> converter = writeConverter(inputValue, outputType);
 		
-		// use an Img that can have big dims
-		
-		CellImgFactory<O> imgFactory = new CellImgFactory<O>(outputType);
-		
-		Img<O> img = imgFactory.create(dims);
-		
-		long[] position = new long[numD];
-		
-		IntegerIndex idx = new IntegerIndex(numD);
-		
-		Cursor<O> cursor = img.localizingCursor();
+		if (!deleteExisting(filename))
+			return false;
 		
-		while (cursor.hasNext()) {
+		if (options.isView()) {
 			
-			cursor.next();
+			saveImg(filename, ImgView.wrap(new DataSourceView<II,I,O>(alg, data, outputType, converter), new CellImgFactory<O>(outputType)));
 			
-			cursor.localize(position);
+			return true;
+		}
+		
+		if (options.isStreaming() && PlaneWriter.canStream(data, outputType)) {
+
+			ImageMetadata meta = PlaneWriter.imageMetadata(data, PlaneWriter.pixelType(outputType));
 			
-			for (int i = 0; i < numD; i++) {
+			try (PlaneWriter writer = new PlaneWriter(filename, Collections.singletonList(meta))) {
 				
-				idx.set(i, position[i]);
+				writer.write(0, alg, data, outputType, converter, options);
 			}
 			
-			data.get(idx, inputValue);
-
-			translateValue(inputValue, cursor.get());
+			return true;
 		}
+		
+		saveImg(filename, convertImg(alg, data, outputType, converter, options));
+		
+		return true;
+	}
 
-		// HACKY fix to a SCIFIO bug
-		//   Writing as tif files can sometimes append data rather than
-		//     completely overwriting data. This can cause exceptions
-		//     later. So delete the target file before we do anything.
+	/**
+	 * Returns a live, read only imglib2 view of a dataset. Values are
+	 * converted to the imglib2 type that writeAs would save them as each
+	 * time they are fetched and nothing is copied. Returns null if the type
+	 * of the dataset has no imglib2 equivalent.
+	 * 
+	 * @param <II>
+	 * @param <I>
+	 * @param <O>
+	 * @param alg
+	 * @param data
+	 * @return
+	 */
+	public static <II extends Algebra<II,I>, I extends GetAsBigDecimal, O extends NativeType<O>>
+	
+		Img<O> imgView(II alg, DimensionedDataSource<I> data)
+	{
+		I inputValue = alg.construct();
 		
-		File f = new File(filename);
+		O outputType = outputType(inputValue);
 		
-		if (f.exists() && f.isFile()) {
-			
-			if (!f.delete())
-				
-				return false;
-		}
+		if (outputType == null)
+			return null;
 		
+		DataSourceView<II,I,O> view = new DataSourceView<>(alg, data, outputType, writeConverter(inputValue, outputType));
+		
+		return ImgView.wrap(view, new CellImgFactory<O>(outputType));
+	}
+	
+	private static void saveImg(String filename, Img<?> img)
+	{
 		SCIFIOConfig config = new SCIFIOConfig();
 		
-		// with hacky fix above this is probably not necessary
+		// with the delete in deleteExisting() this is probably not necessary
 		
 		config.writerSetFailIfOverwriting(false);
 		
-		ImgSaver saver = new ImgSaver();
+		ImgSaver saver = new ImgSaver(getContext());
 		
 		saver.saveImg(filename, img, config);
-		
-		return true;
 	}
 
 	/**
+	 * Write all the datasets of a bundle as the images (series) of one file
+	 * using a single writer. The file format must support more than one
+	 * image (OME-TIFF for example). Datasets that cannot be written plane by
+	 * plane are skipped.
 	 * 
 	 * @param filename
-	 * @return
+	 * @param bundle
+	 * @return the number of datasets written
 	 */
-	public static
-	
-		DataBundle
-		
-			readAllDatasets(String filename)
+	public static int writeBundle(String filename, DataBundle bundle)
 	{
-		FileLocation location = new FileLocation(filename);
-		
-		return readAllDatasets(location);
+		return writeBundle(filename, bundle, new WriteOptions());
 	}
 
 	/**
+	 * Write all the datasets of a bundle as the images (series) of one file
+	 * using a single writer. The file format must support more than one
+	 * image (OME-TIFF for example). Datasets that cannot be written plane by
+	 * plane are skipped. Planes are always streamed; the streaming setting
+	 * of the options is ignored.
 	 * 
-	 * @param uri
-	 * @return
+	 * @param filename
+	 * @param bundle
+	 * @param options
+	 * @return the number of datasets written
 	 */
-	public static
+	public static int writeBundle(String filename, DataBundle bundle, WriteOptions options)
+	{
+		return writeDatasets(filename, bundle, options);
+	}
 	
-		DataBundle
+	private static <T extends Algebra<T,U>, U>
 	
-			readAllDatasets(URI uri)
+		int writeDatasets(String filename, DataBundle bundle, WriteOptions options)
 	{
-		URILocation location = new URILocation(uri);
+		List<Tuple2<T, DimensionedDataSource<U>>> datasets = bundle.bundle();
+		
+		List<Tuple2<T, DimensionedDataSource<U>>> writable = new ArrayList<>();
+		
+		List<ImageMetadata> images = new ArrayList<>();
+		
+		for (Tuple2<T, DimensionedDataSource<U>> dataset : datasets) {
+			
+			ImageMetadata meta = streamedImageMetadata(dataset.a(), dataset.b());
+			
+			if (meta == null) {
+				
+				System.out.println("Dataset not saved! Cannot write data of type ("+dataset.a().typeDescription()+") plane by plane!");
+				continue;
+			}
+			
+			writable.add(dataset);
+			
+			images.add(meta);
+		}
+		
+		if (writable.isEmpty())
+			return 0;
+		
+		if (!deleteExisting(filename))
+			return 0;
+		
+		try (PlaneWriter writer = new PlaneWriter(filename, images)) {
+			
+			for (int i = 0; i < writable.size(); i++) {
+				
+				writeImage(writer, i, writable.get(i).a(), writable.get(i).b(), options);
+			}
+		}
 		
-		return readAllDatasets(location);
+		return writable.size();
 	}
 	
-	@SuppressWarnings("unchecked")
-	private static
+	// Returns the metadata of a dataset written plane by plane or null if it
+	//   cannot be streamed.
 	
-		DataBundle
+	private static <II extends Algebra<II,I>, I, O extends NativeType<O>>
 	
-			readAllDatasets(Location location)
+		ImageMetadata streamedImageMetadata(II alg, DimensionedDataSource<I> data)
 	{
-		DataBundle bundle = new DataBundle();
+		O outputType = outputType(alg.construct());
+		
+		if (outputType == null || !PlaneWriter.canStream(data, outputType))
+			return null;
+		
+		return PlaneWriter.imageMetadata(data, PlaneWriter.pixelType(outputType));
+	}
+	
+	private static <II extends Algebra<II,I>, I, O extends NativeType<O>>
+	
+		void writeImage(PlaneWriter writer, int imageIndex, II alg, DimensionedDataSource<I> data, WriteOptions options)
+	{
+		I inputValue = alg.construct();
+		
+		O outputType = outputType(inputValue);
+		
+		writer.write(imageIndex, alg, data, outputType, writeConverter(inputValue, outputType), options);
+	}
+	
+	// HACKY fix to a SCIFIO bug
+	//   Writing as tif files can sometimes append data rather than
+	//     completely overwriting data. This can cause exceptions
+	//     later. So delete the target file before we do anything.
+	
+	private static boolean deleteExisting(String filename)
+	{
+		File f = new File(filename);
 		
-		ImgOpener opener = new ImgOpener();
+		if (f.exists() && f.isFile())
+			return f.delete();
 		
-		List<SCIFIOImgPlus<?>> results = opener.openImgs(location);
+		return true;
+	}
 
-		for (SCIFIOImgPlus<?> scifImgPlus : results) {
+	// Make a whole imglib2 copy of a dataset for ImgSaver to write. Used
+	//   for the datasets that cannot be streamed plane by plane.
+	
+	private static <II extends Algebra<II,I>, I, O extends NativeType<O>>
+	
+		Img<O> convertImg(II alg, DimensionedDataSource<I> data, O outputType, Procedure2<I,O> converter, WriteOptions options)
+	{
+		long[] dims = DataSourceUtils.dimensions(data);
+		
+		ImgMode mode = imgMode(options.getImgMode(), dims, outputType);
+		
+		if (mode == ImgMode.CELL)
+			return convertCellImg(alg, data, dims, outputType, converter, options);
+		
+		Img<O> img;
+		
+		long alignment;
+		
+		if (mode == ImgMode.ARRAY) {
 			
-			Object elem = scifImgPlus.firstElement();
+			img = new ArrayImgFactory<O>(outputType).create(dims);
 			
-			if (elem instanceof UnsignedByteType) {
-				
-				bundle.mergeUInt8( loadUnsignedByteImage( (SCIFIOImgPlus<UnsignedByteType>) scifImgPlus) );
-			}
-			else if (elem instanceof ByteType) {
-				
-				bundle.mergeInt8( loadByteImage( (SCIFIOImgPlus<ByteType>) scifImgPlus) );
-			}
-			else if (elem instanceof UnsignedShortType) {
-				
-				bundle.mergeUInt16( loadUnsignedShortImage( (SCIFIOImgPlus<UnsignedShortType>) scifImgPlus) );
-			}
-			else if (elem instanceof ShortType) {
-				
-				bundle.mergeInt16( loadShortImage( (SCIFIOImgPlus<ShortType>) scifImgPlus) );
-			}
-			else if (elem instanceof UnsignedIntType) {
-				
-				bundle.mergeUInt32( loadUnsignedIntImage( (SCIFIOImgPlus<UnsignedIntType>) scifImgPlus) );
-			}
-			else if (elem instanceof IntType) {
-				
-				bundle.mergeInt32( loadIntImage( (SCIFIOImgPlus<IntType>) scifImgPlus) );
-			}
-			else if (elem instanceof UnsignedLongType) {
-				
-				bundle.mergeUInt64( loadUnsignedLongImage( (SCIFIOImgPlus<UnsignedLongType>) scifImgPlus) );
-			}
-			else if (elem instanceof LongType) {
-				
-				bundle.mergeInt64( loadLongImage( (SCIFIOImgPlus<LongType>) scifImgPlus) );
-			}
-			else if (elem instanceof FloatType) {
-				
-				bundle.mergeFlt32( loadFloatImage( (SCIFIOImgPlus<FloatType>) scifImgPlus) );
-			}
-			else if (elem instanceof DoubleType) {
-				
-				bundle.mergeFlt64( loadDoubleImage( (SCIFIOImgPlus<DoubleType>) scifImgPlus) );
-			}
-			else if (elem instanceof Unsigned2BitType) {
-				
-				bundle.mergeUInt2( loadUnsigned2BitImage( (SCIFIOImgPlus<Unsigned2BitType>) scifImgPlus) );
-			}
-			else if (elem instanceof Unsigned4BitType) {
-				
-				bundle.mergeUInt4( loadUnsigned4BitImage( (SCIFIOImgPlus<Unsigned4BitType>) scifImgPlus) );
-			}
-			else if (elem instanceof Unsigned12BitType) {
-				
-				bundle.mergeUInt12( loadUnsigned12BitImage( (SCIFIOImgPlus<Unsigned12BitType>) scifImgPlus) );
-			}
-			else if (elem instanceof Unsigned128BitType) {
-				
-				bundle.mergeUInt128( loadUnsigned128BitImage( (SCIFIOImgPlus<Unsigned128BitType>) scifImgPlus) );
-			}
-			else if (elem instanceof ComplexFloatType) {
-				
-				bundle.mergeComplexFlt32( loadComplexFloatImage( (SCIFIOImgPlus<ComplexFloatType>) scifImgPlus) );
-			}
-			else if (elem instanceof ComplexDoubleType) {
-				
-				bundle.mergeComplexFlt64( loadComplexDoubleImage( (SCIFIOImgPlus<ComplexDoubleType>) scifImgPlus) );
-			}
-			else if (elem instanceof ARGBType) {
-				
-				bundle.mergeArgb( loadARGBTypeImage( (SCIFIOImgPlus<ARGBType>) scifImgPlus) );
-			}
-			else if (elem instanceof UnsignedVariableBitLengthType) {
+			// bit types pack many values into each long so tasks must
+			//   start on long boundaries
+			
+			alignment = 64;
+		}
+		else {
+			
+			img = new PlanarImgFactory<O>(outputType).create(dims);
+			
+			// each plane has its own array so tasks get whole planes
+			
+			alignment = Math.max(1, planeSize(dims));
+		}
+		
+		// ArrayImgs and PlanarImgs iterate with dimension 0 varying fastest
+		//   just like zorbage so a cursor's steps match raw indices
+		
+		long total = data.rawData().size();
+		
+		long numUnits = (total + alignment - 1) / alignment;
+		
+		int numTasks = options.getParallelism();
+		
+		if (numTasks > numUnits)
+			numTasks = (int) numUnits;
+		
+		// some storage types (like file backed ones) cannot be read from by
+		//   multiple threads at once
+		
+		if (data.rawData().accessWithOneThread())
+			numTasks = 1;
+		
+		if (numTasks <= 1) {
+			
+			convertRange(img, 0, total, data.rawData(), alg.construct(), converter);
+			
+			return img;
+		}
+		
+		List<Callable<Object>> tasks = new ArrayList<>();
+		
+		for (int t = 0; t < numTasks; t++) {
+			
+			long first = Math.min(total, alignment * (numUnits * t / numTasks));
+			
+			long end = Math.min(total, alignment * (numUnits * (t+1) / numTasks));
+			
+			// each worker gets its own input value so that nothing is shared
+			
+			I workerValue = alg.construct();
+			
+			tasks.add(new Callable<Object>() {
 				
-				UnsignedVariableBitLengthType type = (UnsignedVariableBitLengthType) elem;
-				
-				int bpp = type.getBitsPerPixel();
-				
-				if (bpp < 1)
-					throw new IllegalArgumentException("bit per pix must be > 0");
-				
-				switch (bpp) {
-				
-				case 1:
-					
-					bundle.mergeUInt1( loadUnsignedV1BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 2:
-					
-					bundle.mergeUInt2( loadUnsignedV2BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 3:
-					
-					bundle.mergeUInt3( loadUnsignedV3BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 4:
-					
-					bundle.mergeUInt4( loadUnsignedV4BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 5:
-					
-					bundle.mergeUInt5( loadUnsignedV5BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 6:
-					
-					bundle.mergeUInt6( loadUnsignedV6BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 7:
-					
-					bundle.mergeUInt7( loadUnsignedV7BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 8:
-					
-					bundle.mergeUInt8( loadUnsignedV8BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 9:
-					
-					bundle.mergeUInt9( loadUnsignedV9BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 10:
-					
-					bundle.mergeUInt10( loadUnsignedV10BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 11:
-					
-					bundle.mergeUInt11( loadUnsignedV11BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 12:
-					
-					bundle.mergeUInt12( loadUnsignedV12BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				case 13:
-					
-					bundle.mergeUInt13( loadUnsignedV13BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
+				@Override
+				public Object call() {
 					
-				case 14:
+					convertRange(img, first, end, data.rawData(), workerValue, converter);
 					
-					bundle.mergeUInt14( loadUnsignedV14BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
+					return null;
+				}
+			});
+		}
+		
+		runTasks(tasks, options.getExecutor());
+		
+		return img;
+	}
+	
+	// Decide which kind of Img a dataset is copied into. AUTO prefers one
+	//   array, then one array per plane and then cells.
+	
+	static ImgMode imgMode(ImgMode requested, long[] dims, NativeType<?> outputType)
+	{
+		long total = 1;
+		
+		for (long dim : dims) {
+			
+			total *= dim;
+		}
+		
+		boolean fitsArray = outputType.getEntitiesPerPixel().mulCeil(total) <= Integer.MAX_VALUE;
+		
+		boolean fitsPlanes = outputType.getEntitiesPerPixel().mulCeil(planeSize(dims)) <= Integer.MAX_VALUE;
+		
+		switch (requested) {
+		
+		case ARRAY:
+			
+			if (!fitsArray)
+				throw new IllegalArgumentException("data is too big for an ArrayImg");
+			
+			return ImgMode.ARRAY;
+			
+		case PLANAR:
+			
+			if (!fitsPlanes)
+				throw new IllegalArgumentException("planes are too big for a PlanarImg");
+			
+			return ImgMode.PLANAR;
+			
+		case CELL:
+			
+			return ImgMode.CELL;
+			
+		default:
+			
+			if (fitsArray)
+				return ImgMode.ARRAY;
+			
+			if (fitsPlanes)
+				return ImgMode.PLANAR;
+			
+			return ImgMode.CELL;
+		}
+	}
+	
+	private static long planeSize(long[] dims)
+	{
+		long size = (dims.length > 0) ? dims[0] : 1;
+		
+		if (dims.length > 1)
+			size *= dims[1];
+		
+		return size;
+	}
+	
+	// Converts the values numbered first (inclusive) to end (exclusive) of an
+	//   Img whose iteration order matches zorbage's raw order.
+	
+	private static <I, O extends NativeType<O>>
+	
+		void convertRange(Img<O> img, long first, long end, IndexedDataSource<I> raw, I inputValue, Procedure2<I,O> converter)
+	{
+		Cursor<O> cursor = img.cursor();
+		
+		cursor.jumpFwd(first);
+		
+		for (long i = first; i < end; i++) {
+			
+			if ((i & 0xffff) == 0)
+				checkCancelled();
+			
+			raw.get(i, inputValue);
+			
+			converter.call(inputValue, cursor.next());
+		}
+	}
+	
+	// Copies data into a CellImg, which can hold any size of data. The
+	//   cells of a CellImg do not share storage so they are split between
+	//   tasks.
+	
+	private static <II extends Algebra<II,I>, I, O extends NativeType<O>>
+	
+		Img<O> convertCellImg(II alg, DimensionedDataSource<I> data, long[] dims, O outputType, Procedure2<I,O> converter, WriteOptions options)
+	{
+		CellImgFactory<O> imgFactory = new CellImgFactory<O>(outputType);
+		
+		CellImg<O, ?> img = imgFactory.create(dims);
+		
+		List<Interval> cells = new ArrayList<>();
+		
+		for (Interval cell : img.getCells()) {
+			
+			cells.add(cell);
+		}
+		
+		int numTasks = options.getParallelism();
+		
+		if (numTasks > cells.size())
+			numTasks = cells.size();
+		
+		// some storage types (like file backed ones) cannot be read from by
+		//   multiple threads at once
+		
+		if (data.rawData().accessWithOneThread())
+			numTasks = 1;
+		
+		if (numTasks <= 1) {
+			
+			convertCells(img, cells, data, alg.construct(), converter);
+			
+			return img;
+		}
+		
+		List<Callable<Object>> tasks = new ArrayList<>();
+		
+		for (int t = 0; t < numTasks; t++) {
+			
+			List<Interval> workerCells = cells.subList(cells.size() * t / numTasks, cells.size() * (t+1) / numTasks);
+			
+			// each worker gets its own input value so that nothing is shared
+			
+			I workerValue = alg.construct();
+			
+			tasks.add(new Callable<Object>() {
+				
+				@Override
+				public Object call() {
 					
-				case 15:
+					convertCells(img, workerCells, data, workerValue, converter);
 					
-					bundle.mergeUInt15( loadUnsignedV15BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
+					return null;
+				}
+			});
+		}
+		
+		runTasks(tasks, options.getExecutor());
+		
+		return img;
+	}
+	
+	// Converts the values that lie within the given cells of an Img. The raw
+	//   zorbage index of each position is computed directly from strides.
+	
+	private static <I, O extends NativeType<O>>
+	
+		void convertCells(Img<O> img, List<Interval> cells, DimensionedDataSource<I> data, I inputValue, Procedure2<I,O> converter)
+	{
+		int numD = data.numDimensions();
+		
+		long[] strides = new long[numD];
+		
+		long stride = 1;
+		
+		for (int i = 0; i < numD; i++) {
+			
+			strides[i] = stride;
+			
+			stride *= data.dimension(i);
+		}
+		
+		IndexedDataSource<I> raw = data.rawData();
+		
+		for (Interval cell : cells) {
+			
+			checkCancelled();
+			
+			Cursor<O> cursor = Views.interval(img, cell).localizingCursor();
+			
+			while (cursor.hasNext()) {
+				
+				cursor.fwd();
+				
+				long index = 0;
+				
+				for (int i = 0; i < numD; i++) {
 					
-				case 16:
+					index += cursor.getLongPosition(i) * strides[i];
+				}
+				
+				raw.get(index, inputValue);
+	
+				converter.call(inputValue, cursor.get());
+			}
+		}
+	}
+
+	/**
+	 * Write a dataset on the given executor. Cancelling the returned future
+	 * with cancel(true) interrupts the conversion of the data. Streamed
+	 * writes stop between planes and may leave a partly written file.
+	 * 
+	 * @param <II>
+	 * @param <I>
+	 * @param filename
+	 * @param alg
+	 * @param data
+	 * @param executor
+	 * @return
+	 */
+	public static <II extends Algebra<II,I>, I extends GetAsBigDecimal>
+	
+		CompletableFuture<Boolean> writeAsAsync(String filename, II alg, DimensionedDataSource<I> data, Executor executor)
+	{
+		return writeAsAsync(filename, alg, data, new WriteOptions(), executor);
+	}
+
+	/**
+	 * 
+	 * @param <II>
+	 * @param <I>
+	 * @param filename
+	 * @param alg
+	 * @param data
+	 * @param options
+	 * @param executor
+	 * @return
+	 */
+	public static <II extends Algebra<II,I>, I extends GetAsBigDecimal>
+	
+		CompletableFuture<Boolean> writeAsAsync(String filename, II alg, DimensionedDataSource<I> data, WriteOptions options, Executor executor)
+	{
+		WriteOptions opts = new WriteOptions(options);
+		
+		return InterruptibleFuture.supply(() -> writeAs(filename, alg, data, opts), executor);
+	}
+
+	/**
+	 * 
+	 * @param filename
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+		
+			readAllDatasets(String filename)
+	{
+		return readAllDatasets(filename, new ReadOptions());
+	}
+
+	/**
+	 * 
+	 * @param filename
+	 * @param options
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+		
+			readAllDatasets(String filename, ReadOptions options)
+	{
+		FileLocation location = new FileLocation(filename);
+		
+		return readAllDatasets(location, options);
+	}
+
+	/**
+	 * 
+	 * @param uri
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+	
+			readAllDatasets(URI uri)
+	{
+		return readAllDatasets(uri, new ReadOptions());
+	}
+
+	/**
+	 * 
+	 * @param uri
+	 * @param options
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+	
+			readAllDatasets(URI uri, ReadOptions options)
+	{
+		URILocation location = new URILocation(uri);
+		
+		return readAllDatasets(location, options);
+	}
+	
+	/**
+	 * Read all the datasets of a file converting their values to the type of
+	 * the given algebra as they are copied.
+	 * 
+	 * @param <T>
+	 * @param <U>
+	 * @param filename
+	 * @param alg
+	 * @return
+	 */
+	public static <T extends Algebra<T,U>, U extends Allocatable<U>>
+	
+		List<DimensionedDataSource<U>>
+		
+			readAllDatasetsAs(String filename, T alg)
+	{
+		return readAllDatasetsAs(filename, alg, 1, 0, new ReadOptions());
+	}
+
+	/**
+	 * Read all the datasets of a file converting their values to the type of
+	 * the given algebra as they are copied.
+	 * 
+	 * @param <T>
+	 * @param <U>
+	 * @param filename
+	 * @param alg
+	 * @param options
+	 * @return
+	 */
+	public static <T extends Algebra<T,U>, U extends Allocatable<U>>
+	
+		List<DimensionedDataSource<U>>
+		
+			readAllDatasetsAs(String filename, T alg, ReadOptions options)
+	{
+		return readAllDatasetsAs(filename, alg, 1, 0, options);
+	}
+
+	/**
+	 * Read all the datasets of a file converting their values to the type of
+	 * the given algebra as they are copied. Each value v is stored as
+	 * v * scale + offset. Real data can be read as any type that can be set
+	 * from a double and complex data as a complex type. ARGB data cannot be
+	 * converted. No second copy in the file's own type is made.
+	 * 
+	 * @param <T>
+	 * @param <U>
+	 * @param filename
+	 * @param alg
+	 * @param scale
+	 * @param offset
+	 * @param options
+	 * @return
+	 */
+	public static <T extends Algebra<T,U>, U extends Allocatable<U>>
+	
+		List<DimensionedDataSource<U>>
+		
+			readAllDatasetsAs(String filename, T alg, double scale, double offset, ReadOptions options)
+	{
+		return readAllDatasetsAs(new FileLocation(filename), alg, scale, offset, options);
+	}
+	
+	/**
+	 * Read all the datasets of a file converting their values to the type of
+	 * the given algebra as they are copied.
+	 * 
+	 * @param <T>
+	 * @param <U>
+	 * @param uri
+	 * @param alg
+	 * @return
+	 */
+	public static <T extends Algebra<T,U>, U extends Allocatable<U>>
+	
+		List<DimensionedDataSource<U>>
+		
+			readAllDatasetsAs(URI uri, T alg)
+	{
+		return readAllDatasetsAs(uri, alg, 1, 0, new ReadOptions());
+	}
+
+	/**
+	 * Read all the datasets of a file converting their values to the type of
+	 * the given algebra as they are copied.
+	 * 
+	 * @param <T>
+	 * @param <U>
+	 * @param uri
+	 * @param alg
+	 * @param options
+	 * @return
+	 */
+	public static <T extends Algebra<T,U>, U extends Allocatable<U>>
+	
+		List<DimensionedDataSource<U>>
+		
+			readAllDatasetsAs(URI uri, T alg, ReadOptions options)
+	{
+		return readAllDatasetsAs(uri, alg, 1, 0, options);
+	}
+
+	/**
+	 * Read all the datasets of a file converting their values to the type of
+	 * the given algebra as they are copied. Each value v is stored as
+	 * v * scale + offset. Real data can be read as any type that can be set
+	 * from a double and complex data as a complex type. ARGB data cannot be
+	 * converted. No second copy in the file's own type is made.
+	 * 
+	 * @param <T>
+	 * @param <U>
+	 * @param uri
+	 * @param alg
+	 * @param scale
+	 * @param offset
+	 * @param options
+	 * @return
+	 */
+	public static <T extends Algebra<T,U>, U extends Allocatable<U>>
+	
+		List<DimensionedDataSource<U>>
+		
+			readAllDatasetsAs(URI uri, T alg, double scale, double offset, ReadOptions options)
+	{
+		return readAllDatasetsAs(new URILocation(uri), alg, scale, offset, options);
+	}
+	
+	/**
+	 * Read all the datasets of a file on the given executor. Cancelling the
+	 * returned future with cancel(true) interrupts the read, which stops at
+	 * the next plane.
+	 * 
+	 * @param filename
+	 * @param options
+	 * @param executor
+	 * @return
+	 */
+	public static
+	
+		CompletableFuture<DataBundle>
+		
+			readAllDatasetsAsync(String filename, ReadOptions options, Executor executor)
+	{
+		ReadOptions opts = new ReadOptions(options);
+		
+		return InterruptibleFuture.supply(() -> readAllDatasets(filename, opts), executor);
+	}
+
+	/**
+	 * Read all the datasets of a URI on the given executor. Cancelling the
+	 * returned future with cancel(true) interrupts the read, which stops at
+	 * the next plane.
+	 * 
+	 * @param uri
+	 * @param options
+	 * @param executor
+	 * @return
+	 */
+	public static
+	
+		CompletableFuture<DataBundle>
+		
+			readAllDatasetsAsync(URI uri, ReadOptions options, Executor executor)
+	{
+		ReadOptions opts = new ReadOptions(options);
+		
+		return InterruptibleFuture.supply(() -> readAllDatasets(uri, opts), executor);
+	}
+
+	/**
+	 * Read many files concurrently on a pool of availableProcessors()
+	 * threads. See {@link #readBatch(Collection, ExecutorService, ReadOptions, Consumer)}.
+	 * 
+	 * @param filenames
+	 * @return
+	 */
+	public static
+	
+		List<BatchResult>
+		
+			readBatch(Collection<String> filenames)
+	{
+		return readBatch(filenames, null, new ReadOptions(), null);
+	}
+
+	/**
+	 * Read many files concurrently. A failure reading one file is recorded
+	 * in its result and does not affect the other files. Warnings are
+	 * recorded in each file's result too.
+	 * 
+	 * @param filenames
+	 * @param executor Runs one task per file and so bounds how many files
+	 *   are read at once. When null a fixed pool of availableProcessors()
+	 *   threads is used for the duration of the call.
+	 * @param options Applied to every file. Its warning handler is ignored.
+	 *   Its executor runs the copying tasks of each file when parallelism
+	 *   is greater than 1. It must not be the batch executor unless that
+	 *   is a ForkJoinPool: file tasks would wait for copying tasks queued
+	 *   behind them on the same threads and never finish.
+	 * @param callback When not null it is handed each result as soon as
+	 *   its file finishes. It is called from the worker threads. An
+	 *   exception it throws is recorded in that file's result.
+	 * @return The results in the same order as the given filenames.
+	 * @throws IllegalArgumentException if executor is also the executor of
+	 *   options, options has a parallelism above 1 and executor is not a
+	 *   ForkJoinPool.
+	 */
+	public static
+	
+		List<BatchResult>
+		
+			readBatch(Collection<String> filenames, ExecutorService executor, ReadOptions options, Consumer<BatchResult> callback)
+	{
+		List<Location> locations = new ArrayList<>();
+		
+		List<String> sources = new ArrayList<>();
+		
+		for (String filename : filenames) {
+			
+			locations.add(new FileLocation(filename));
+			
+			sources.add(filename);
+		}
+		
+		return readBatch(locations, sources, executor, options, callback);
+	}
+
+	/**
+	 * Read many URIs concurrently. A failure reading one URI is recorded
+	 * in its result and does not affect the others. See
+	 * {@link #readBatch(Collection, ExecutorService, ReadOptions, Consumer)}.
+	 * 
+	 * @param uris
+	 * @param executor
+	 * @param options
+	 * @param callback
+	 * @return The results in the same order as the given uris.
+	 * @throws IllegalArgumentException if executor and options would
+	 *   deadlock as described for readBatch().
+	 */
+	public static
+	
+		List<BatchResult>
+		
+			readBatchOfURIs(Collection<URI> uris, ExecutorService executor, ReadOptions options, Consumer<BatchResult> callback)
+	{
+		List<Location> locations = new ArrayList<>();
+		
+		List<String> sources = new ArrayList<>();
+		
+		for (URI uri : uris) {
+			
+			locations.add(new URILocation(uri));
+			
+			sources.add(uri.toString());
+		}
+		
+		return readBatch(locations, sources, executor, options, callback);
+	}
+	
+	private static
+	
+		List<BatchResult>
+		
+			readBatch(List<Location> locations, List<String> sources, ExecutorService executor, ReadOptions options, Consumer<BatchResult> callback)
+	{
+		// a file task blocks in invokeAll() until its copying tasks finish.
+		//   Those would queue behind the blocked file tasks on a shared pool.
+		//   ForkJoinPool workers run queued tasks while they wait instead.
+		
+		if (executor != null && executor == options.getExecutor() &&
+				options.getParallelism() > 1 && !(executor instanceof ForkJoinPool))
+		{
+			throw new IllegalArgumentException("the batch executor cannot also run the copying tasks of ReadOptions");
+		}
+		
+		ExecutorService pool = executor;
+		
+		if (pool == null)
+			pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		
+		try {
+			
+			List<Future<BatchResult>> futures = new ArrayList<>();
+			
+			for (int i = 0; i < locations.size(); i++) {
+				
+				Location location = locations.get(i);
+				
+				String source = sources.get(i);
+				
+				int index = i;
+				
+				futures.add(pool.submit(new Callable<BatchResult>() {
+					
+					@Override
+					public BatchResult call() {
+						
+						List<String> warnings = new ArrayList<>();
+						
+						ReadOptions fileOptions = new ReadOptions(options).setWarningHandler(warnings::add);
+						
+						BatchResult result;
+						
+						try {
+							
+							DataBundle bundle = readAllDatasets(location, fileOptions);
+							
+							result = new BatchResult(index, source, bundle, null, warnings);
+						}
+						catch (Exception e) {
+							
+							result = new BatchResult(index, source, null, e, warnings);
+						}
+						
+						// a failing callback only fails its own file's result. The
+						//   bundle is kept since the read itself went fine.
+						
+						if (callback != null) {
+							
+							try {
+								
+								callback.accept(result);
+							}
+							catch (Exception e) {
+								
+								if (result.error() != null) {
+									
+									result.error().addSuppressed(e);
+								}
+								else {
+									
+									result = new BatchResult(index, source, result.bundle(), e, warnings);
+								}
+							}
+						}
+						
+						return result;
+					}
+				}));
+			}
+			
+			List<BatchResult> results = new ArrayList<>();
+			
+			for (Future<BatchResult> future : futures) {
+				
+				results.add(future.get());
+			}
+			
+			return results;
+		}
+		catch (InterruptedException e) {
+			
+			Thread.currentThread().interrupt();
+			
+			throw new IllegalStateException("interrupted while reading batch", e);
+		}
+		catch (ExecutionException e) {
+			
+			// only an Error can get us here since the exceptions of reads
+			//   and callbacks are caught above
+			
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			
+			throw new IllegalStateException("batch task failed", e.getCause());
+		}
+		finally {
+			
+			if (executor == null)
+				pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Read just one image (series) of a file. Other images in the file are
+	 * not decoded.
+	 * 
+	 * @param filename
+	 * @param imageIndex
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+		
+			readDataset(String filename, int imageIndex)
+	{
+		return readAllDatasets(filename, new ReadOptions().setImageIndices(imageIndex));
+	}
+
+	/**
+	 * Read just one image (series) of a file. Other images in the file are
+	 * not decoded.
+	 * 
+	 * @param uri
+	 * @param imageIndex
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+		
+			readDataset(URI uri, int imageIndex)
+	{
+		return readAllDatasets(uri, new ReadOptions().setImageIndices(imageIndex));
+	}
+
+	/**
+	 * Read a chosen set of images (series) of a file. Other images in the
+	 * file are not decoded.
+	 * 
+	 * @param filename
+	 * @param imageIndices
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+		
+			readDatasets(String filename, Set<Integer> imageIndices)
+	{
+		return readAllDatasets(filename, new ReadOptions().setImageIndices(imageIndices));
+	}
+
+	/**
+	 * Read a chosen set of images (series) of a file. Other images in the
+	 * file are not decoded.
+	 * 
+	 * @param uri
+	 * @param imageIndices
+	 * @return
+	 */
+	public static
+	
+		DataBundle
+		
+			readDatasets(URI uri, Set<Integer> imageIndices)
+	{
+		return readAllDatasets(uri, new ReadOptions().setImageIndices(imageIndices));
+	}
+
+	/**
+	 * Open one image of a file for reading a plane at a time. Planes are
+	 * decoded on demand so memory use stays at one plane whatever the
+	 * size of the file. Close the returned reader when done.
+	 * 
+	 * @param <U> must match the file's pixel type. See {@link PlaneReader#type()}.
+	 * @param filename
+	 * @param imageIndex
+	 * @return
+	 */
+	public static <U extends Allocatable<U>>
+	
+		PlaneReader<U>
+		
+			openPlanes(String filename, int imageIndex)
+	{
+		return new PlaneReader<>(new FileLocation(filename), imageIndex);
+	}
+
+	/**
+	 * Open one image of a file for reading a plane at a time. Planes are
+	 * decoded on demand so memory use stays at one plane whatever the
+	 * size of the file. Close the returned reader when done.
+	 * 
+	 * @param <U> must match the file's pixel type. See {@link PlaneReader#type()}.
+	 * @param uri
+	 * @param imageIndex
+	 * @return
+	 */
+	public static <U extends Allocatable<U>>
+	
+		PlaneReader<U>
+		
+			openPlanes(URI uri, int imageIndex)
+	{
+		return new PlaneReader<>(new URILocation(uri), imageIndex);
+	}
+	
+	/**
+	 * Describe every image (series) of a file by reading only its metadata.
+	 * No pixels are decoded.
+	 * 
+	 * @param filename
+	 * @return
+	 */
+	public static
+	
+		List<SeriesDescriptor>
+		
+			probe(String filename)
+	{
+		return probe(new FileLocation(filename));
+	}
+
+	/**
+	 * Describe every image (series) of a file by reading only its metadata.
+	 * No pixels are decoded.
+	 * 
+	 * @param uri
+	 * @return
+	 */
+	public static
+	
+		List<SeriesDescriptor>
+		
+			probe(URI uri)
+	{
+		return probe(new URILocation(uri));
+	}
+	
+	private static
+	
+		List<SeriesDescriptor>
+		
+			probe(Location location)
+	{
+		Metadata meta;
+		
+		try {
+			
+			meta = new SCIFIO(getContext()).initializer().parseMetadata(location);
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+		catch (FormatException e) {
+			
+			throw new IllegalArgumentException("cannot read file format of " + location, e);
+		}
+		
+		// the metadata holds the file open until it is closed
+		
+		try {
+			
+			// the same entries that updateMetadata() records
+			
+			Map<String, String> metadata = new LinkedHashMap<>();
+			
+			metadata.put("input-dataset-name", String.valueOf(meta.getDatasetName()));
+			
+			metadata.put("input-dataset-size", String.valueOf(meta.getDatasetSize()));
+			
+			metadata.put("input-format-name", String.valueOf(meta.getFormatName()));
+			
+			metadata.put("input-identifier", String.valueOf(meta.getIdentifier()));
+			
+			metadata.put("input-location", String.valueOf(meta.getLocation()));
+			
+			metadata.put("input-source-location", String.valueOf(meta.getSourceLocation()));
+			
+			metadata.put("input-version", String.valueOf(meta.getVersion()));
+			
+			List<SeriesDescriptor> descriptors = new ArrayList<>();
+			
+			for (int imageIndex = 0; imageIndex < meta.getImageCount(); imageIndex++) {
+				
+				ImageMetadata imageMeta = meta.get(imageIndex);
+				
+				List<CalibratedAxis> axes = imageMeta.getAxes();
+				
+				long[] dims = imageMeta.getAxesLengths();
+				
+				String[] axisTypes = new String[axes.size()];
+				
+				String[] axisUnits = new String[axes.size()];
+				
+				BigDecimal[] scales = new BigDecimal[axes.size()];
+				
+				BigDecimal[] offsets = new BigDecimal[axes.size()];
+				
+				for (int i = 0; i < axes.size(); i++) {
+					
+					CalibratedAxis axis = axes.get(i);
+					
+					axisTypes[i] = axis.type().toString();
+					
+					axisUnits[i] = axis.unit();
+					
+					if (dims[i] < 2)
+						scales[i] = BigDecimal.ONE;
+					else
+						scales[i] = BigDecimal.valueOf(axis.averageScale(0, dims[i]-1));
+					
+					offsets[i] = BigDecimal.valueOf(axis.calibratedValue(0));
+				}
+				
+				Object type = zorbageType(imageMeta.getPixelType());
+				
+				descriptors.add(new SeriesDescriptor(imageIndex, imageMeta.getName(), dims, type,
+											axisTypes, axisUnits, scales, offsets, metadata));
+			}
+			
+			return descriptors;
+		}
+		finally {
+			
+			closeMetadata(meta);
+		}
+	}
+	
+	// Closes parsed metadata, which releases the file it was read from.
+	
+	static void closeMetadata(Metadata meta)
+	{
+		try {
+			
+			meta.close(false);
+		}
+		catch (IOException e) {
+			
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static
+	
+		DataBundle
+	
+			readAllDatasets(Location location, ReadOptions options)
+	{
+		BundleCache memoryCache = bundleCache;
+		
+		String memoryKey = null;
+		
+		// file backed reads want their own storage rather than memory
+		
+		if (memoryCache != null && cacheable(options) && !options.isFileBacked())
+			memoryKey = BundleCache.key(location, options);
+		
+		if (memoryKey != null) {
+			
+			return memoryCache.get(memoryKey, options.getWarningHandler(),
+					handler -> readThroughDiskCache(location, new ReadOptions(options).setWarningHandler(handler)));
+		}
+		
+		return readThroughDiskCache(location, options);
+	}
+	
+	// cached bundles hold every image of a file in full, at full resolution, and
+	//   in normal storage
+	
+	private static boolean cacheable(ReadOptions options)
+	{
+		return !options.isZeroCopy() && options.getRegion().isEmpty() && options.getAxisIndices().isEmpty() &&
+				options.getImageIndices() == null &&
+				options.getResolutionLevel() == 0;
+	}
+	
+	private static
+	
+		DataBundle
+	
+			readThroughDiskCache(Location location, ReadOptions options)
+	{
+		DiskCache cache = options.getDiskCache();
+		
+		String key = null;
+		
+		if (cache != null && cacheable(options))
+			key = DiskCache.key(location);
+		
+		if (key != null) {
+			
+			DataBundle cached = cache.load(key, location, options);
+			
+			if (cached != null)
+				return cached;
+		}
+		
+		DataBundle bundle = decodeAllDatasets(location, options);
+		
+		if (key != null) {
+			
+			try {
+				
+				cache.store(key, bundle);
+			}
+			catch (IOException e) {
+				
+				options.getWarningHandler().accept("could not cache " + location.getURI() + ": " + e.getMessage());
+			}
+		}
+		
+		return bundle;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T extends Algebra<T,U>, U extends Allocatable<U>>
+	
+		List<DimensionedDataSource<U>>
+		
+			readAllDatasetsAs(Location location, T alg, double scale, double offset, ReadOptions options)
+	{
+		U type = alg.construct();
+		
+		if (!(type instanceof Float32Member || type instanceof Float64Member || type instanceof SetFromDouble ||
+				type instanceof ComplexFloat32Member || type instanceof ComplexFloat64Member))
+			throw new IllegalArgumentException("cannot convert values to " + alg.typeDescription());
+		
+		ImgOpener opener = new ImgOpener(getContext());
+		
+		SCIFIOConfig config = openerConfig(options);
+		
+		List<SCIFIOImgPlus<?>> results;
+		
+		if (config == null)
+			results = opener.openImgs(location);
+		else
+			results = opener.openImgs(location, config);
+		
+		List<DimensionedDataSource<U>> datasets = new ArrayList<>();
+		
+		for (SCIFIOImgPlus<?> scifImgPlus : results) {
+			
+			checkCancelled();
+			
+			Procedure2<Object,U> converter = targetConverter(scifImgPlus.firstElement(), type, scale, offset);
+			
+			Procedure2<U,Object> setter = targetSetter(scifImgPlus.firstElement(), type, scale, offset);
+			
+			// the converter scales values so raw values must never be copied
+			
+			datasets.add( loadImage( (SCIFIOImgPlus<Object>) scifImgPlus, converter, setter, type, false, options) );
+		}
+		
+		return datasets;
+	}
+	
+	// The inverse of targetConverter() for values set in zero copy datasets:
+	//   (v - offset) / scale is stored in the image.
+	
+	private static <U>
+	
+		Procedure2<U,Object> targetSetter(Object imglibType, U type, double scale, double offset)
+	{
+		if (imglibType instanceof RealType) {
+			
+			return new Procedure2<U, Object>() {
+				
+				@Override
+				public void call(U in, Object out) {
+					
+					((RealType<?>) out).setReal((realValue(in) - offset) / scale);
+				}
+			};
+		}
+		
+		return new Procedure2<U, Object>() {
+			
+			@Override
+			public void call(U in, Object out) {
+				
+				ComplexType<?> value = (ComplexType<?>) out;
+				
+				if (in instanceof ComplexFloat32Member) {
+					
+					value.setReal((((ComplexFloat32Member) in).r() - offset) / scale);
+					
+					value.setImaginary(((ComplexFloat32Member) in).i() / scale);
+				}
+				else {
+					
+					value.setReal((((ComplexFloat64Member) in).r() - offset) / scale);
+					
+					value.setImaginary(((ComplexFloat64Member) in).i() / scale);
+				}
+			}
+		};
+	}
+	
+	private static double realValue(Object value)
+	{
+		if (value instanceof Float32Member)
+			return ((Float32Member) value).v();
+		
+		if (value instanceof Float64Member)
+			return ((Float64Member) value).v();
+		
+		return ((GetAsBigDecimal) value).getAsBigDecimal().doubleValue();
+	}
+	
+	// Returns a converter from an imglib2 type to a zorbage type that scales
+	//   values on the way. Float targets are set directly and all others
+	//   through SetFromDouble.
+	
+	private static <U>
+	
+		Procedure2<Object,U> targetConverter(Object imglibType, U type, double scale, double offset)
+	{
+		if (imglibType instanceof RealType) {
+			
+			if (type instanceof Float32Member) {
+				
+				return new Procedure2<Object, U>() {
+					
+					@Override
+					public void call(Object in, U out) {
+						
+						((Float32Member) out).setV((float) (((RealType<?>) in).getRealDouble() * scale + offset));
+					}
+				};
+			}
+			
+			if (type instanceof Float64Member) {
+				
+				return new Procedure2<Object, U>() {
+					
+					@Override
+					public void call(Object in, U out) {
+						
+						((Float64Member) out).setV(((RealType<?>) in).getRealDouble() * scale + offset);
+					}
+				};
+			}
+			
+			return new Procedure2<Object, U>() {
+				
+				@Override
+				public void call(Object in, U out) {
+					
+					((SetFromDouble) out).setFromDouble(((RealType<?>) in).getRealDouble() * scale + offset);
+				}
+			};
+		}
+		
+		if (imglibType instanceof ComplexType) {
+			
+			if (type instanceof ComplexFloat32Member) {
+				
+				return new Procedure2<Object, U>() {
+					
+					@Override
+					public void call(Object in, U out) {
+						
+						ComplexType<?> value = (ComplexType<?>) in;
+						
+						((ComplexFloat32Member) out).setR((float) (value.getRealDouble() * scale + offset));
+						
+						((ComplexFloat32Member) out).setI((float) (value.getImaginaryDouble() * scale));
+					}
+				};
+			}
+			
+			if (type instanceof ComplexFloat64Member) {
+				
+				return new Procedure2<Object, U>() {
+					
+					@Override
+					public void call(Object in, U out) {
+						
+						ComplexType<?> value = (ComplexType<?>) in;
+						
+						((ComplexFloat64Member) out).setR(value.getRealDouble() * scale + offset);
+						
+						((ComplexFloat64Member) out).setI(value.getImaginaryDouble() * scale);
+					}
+				};
+			}
+		}
+		
+		throw new IllegalArgumentException("cannot convert " + imglibType.getClass().getSimpleName() + " data to the requested type");
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static
+	
+		DataBundle
+	
+			decodeAllDatasets(Location location, ReadOptions options)
+	{
+		DataBundle mapped = MappedTiffReader.read(location, options);
+		
+		if (mapped != null)
+			return mapped;
+		
+		DataBundle bundle = new DataBundle();
+		
+		ImgOpener opener = new ImgOpener(getContext());
+		
+		SCIFIOConfig config = openerConfig(options);
+		
+		List<SCIFIOImgPlus<?>> results;
+		
+		if (config == null)
+			results = opener.openImgs(location);
+		else
+			results = opener.openImgs(location, config);
+
+		for (SCIFIOImgPlus<?> scifImgPlus : results) {
+			
+			checkCancelled();
+			
+			Object elem = scifImgPlus.firstElement();
+			
+			if (elem instanceof UnsignedByteType) {
+				
+				bundle.mergeUInt8( loadUnsignedByteImage( (SCIFIOImgPlus<UnsignedByteType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof ByteType) {
+				
+				bundle.mergeInt8( loadByteImage( (SCIFIOImgPlus<ByteType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof UnsignedShortType) {
+				
+				bundle.mergeUInt16( loadUnsignedShortImage( (SCIFIOImgPlus<UnsignedShortType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof ShortType) {
+				
+				bundle.mergeInt16( loadShortImage( (SCIFIOImgPlus<ShortType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof UnsignedIntType) {
+				
+				bundle.mergeUInt32( loadUnsignedIntImage( (SCIFIOImgPlus<UnsignedIntType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof IntType) {
+				
+				bundle.mergeInt32( loadIntImage( (SCIFIOImgPlus<IntType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof UnsignedLongType) {
+				
+				bundle.mergeUInt64( loadUnsignedLongImage( (SCIFIOImgPlus<UnsignedLongType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof LongType) {
+				
+				bundle.mergeInt64( loadLongImage( (SCIFIOImgPlus<LongType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof FloatType) {
+				
+				bundle.mergeFlt32( loadFloatImage( (SCIFIOImgPlus<FloatType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof DoubleType) {
+				
+				bundle.mergeFlt64( loadDoubleImage( (SCIFIOImgPlus<DoubleType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof Unsigned2BitType) {
+				
+				bundle.mergeUInt2( loadUnsigned2BitImage( (SCIFIOImgPlus<Unsigned2BitType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof Unsigned4BitType) {
+				
+				bundle.mergeUInt4( loadUnsigned4BitImage( (SCIFIOImgPlus<Unsigned4BitType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof Unsigned12BitType) {
+				
+				bundle.mergeUInt12( loadUnsigned12BitImage( (SCIFIOImgPlus<Unsigned12BitType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof Unsigned128BitType) {
+				
+				bundle.mergeUInt128( loadUnsigned128BitImage( (SCIFIOImgPlus<Unsigned128BitType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof ComplexFloatType) {
+				
+				bundle.mergeComplexFlt32( loadComplexFloatImage( (SCIFIOImgPlus<ComplexFloatType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof ComplexDoubleType) {
+				
+				bundle.mergeComplexFlt64( loadComplexDoubleImage( (SCIFIOImgPlus<ComplexDoubleType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof ARGBType) {
+				
+				bundle.mergeArgb( loadARGBTypeImage( (SCIFIOImgPlus<ARGBType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof BitType) {
+				
+				bundle.mergeUInt1( loadBitImage( (SCIFIOImgPlus<BitType>) scifImgPlus, options) );
+			}
+			else if (elem instanceof UnsignedVariableBitLengthType) {
+				
+				UnsignedVariableBitLengthType type = (UnsignedVariableBitLengthType) elem;
+				
+				int bpp = type.getBitsPerPixel();
+				
+				if (bpp < 1)
+					throw new IllegalArgumentException("bit per pix must be > 0");
+				
+				switch (bpp) {
+				
+				case 1:
+					
+					bundle.mergeUInt1( loadUnsignedV1BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 2:
+					
+					bundle.mergeUInt2( loadUnsignedV2BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 3:
+					
+					bundle.mergeUInt3( loadUnsignedV3BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 4:
+					
+					bundle.mergeUInt4( loadUnsignedV4BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 5:
+					
+					bundle.mergeUInt5( loadUnsignedV5BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 6:
+					
+					bundle.mergeUInt6( loadUnsignedV6BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 7:
+					
+					bundle.mergeUInt7( loadUnsignedV7BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 8:
+					
+					bundle.mergeUInt8( loadUnsignedV8BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 9:
+					
+					bundle.mergeUInt9( loadUnsignedV9BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 10:
+					
+					bundle.mergeUInt10( loadUnsignedV10BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 11:
+					
+					bundle.mergeUInt11( loadUnsignedV11BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 12:
+					
+					bundle.mergeUInt12( loadUnsignedV12BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 13:
+					
+					bundle.mergeUInt13( loadUnsignedV13BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 14:
+					
+					bundle.mergeUInt14( loadUnsignedV14BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 15:
+					
+					bundle.mergeUInt15( loadUnsignedV15BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				case 16:
+
+					bundle.mergeUInt16( loadUnsignedV16BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					break;
+					
+				default:
+					
+					if (bpp <= 32) {
+						
+						bundle.mergeUInt32( loadUnsignedV32BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					}
+					else if (bpp <= 64) {
+						
+						bundle.mergeUInt64( loadUnsignedV64BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					}
+					else if (bpp <= 128) {
+						
+						bundle.mergeUInt128( loadUnsignedV128BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					}
+					else { // bpp > 128
+						
+						bundle.mergeBigInt( loadUnsignedBigIntImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus, options) );
+					}
+					break;
+				}
+			}
+			else
+				options.getWarningHandler().accept("scifio image is of unknown type: " + elem);
+		}
+		
+		return bundle;
+	}
+	
+	// Adds a dataset whose type is the zorbage equivalent of a FormatTools
+	//   pixel type to a bundle.
+	
+	@SuppressWarnings("unchecked")
+	static void mergeDataset(DataBundle bundle, int pixelType, DimensionedDataSource<?> dataset)
+	{
+		switch (pixelType) {
+		
+		case FormatTools.INT8:
+			bundle.mergeInt8((DimensionedDataSource<SignedInt8Member>) dataset);
+			break;
+			
+		case FormatTools.UINT8:
+			bundle.mergeUInt8((DimensionedDataSource<UnsignedInt8Member>) dataset);
+			break;
+			
+		case FormatTools.INT16:
+			bundle.mergeInt16((DimensionedDataSource<SignedInt16Member>) dataset);
+			break;
+			
+		case FormatTools.UINT16:
+			bundle.mergeUInt16((DimensionedDataSource<UnsignedInt16Member>) dataset);
+			break;
+			
+		case FormatTools.INT32:
+			bundle.mergeInt32((DimensionedDataSource<SignedInt32Member>) dataset);
+			break;
+			
+		case FormatTools.UINT32:
+			bundle.mergeUInt32((DimensionedDataSource<UnsignedInt32Member>) dataset);
+			break;
+			
+		case FormatTools.FLOAT:
+			bundle.mergeFlt32((DimensionedDataSource<Float32Member>) dataset);
+			break;
+			
+		case FormatTools.DOUBLE:
+			bundle.mergeFlt64((DimensionedDataSource<Float64Member>) dataset);
+			break;
+			
+		default:
+			throw new IllegalArgumentException("unsupported pixel type: " + FormatTools.getPixelTypeString(pixelType));
+		}
+	}
+	
+	// Returns an instance of the zorbage type that readAllDatasets() converts
+	//   an imglib2 type to or null if there is none. Keep in sync with the
+	//   instanceof chain in readAllDatasets().
+	
+	static
+	
+		Object
+		
+			zorbageType(Object elem)
+	{
+		if (elem instanceof UnsignedByteType)
+			return new UnsignedInt8Member();
+		
+		if (elem instanceof ByteType)
+			return new SignedInt8Member();
+		
+		if (elem instanceof UnsignedShortType)
+			return new UnsignedInt16Member();
+		
+		if (elem instanceof ShortType)
+			return new SignedInt16Member();
+		
+		if (elem instanceof UnsignedIntType)
+			return new UnsignedInt32Member();
+		
+		if (elem instanceof IntType)
+			return new SignedInt32Member();
+		
+		if (elem instanceof UnsignedLongType)
+			return new UnsignedInt64Member();
+		
+		if (elem instanceof LongType)
+			return new SignedInt64Member();
+		
+		if (elem instanceof FloatType)
+			return new Float32Member();
+		
+		if (elem instanceof DoubleType)
+			return new Float64Member();
+		
+		if (elem instanceof Unsigned2BitType)
+			return new UnsignedInt2Member();
+		
+		if (elem instanceof Unsigned4BitType)
+			return new UnsignedInt4Member();
+		
+		if (elem instanceof Unsigned12BitType)
+			return new UnsignedInt12Member();
+		
+		if (elem instanceof Unsigned128BitType)
+			return new UnsignedInt128Member();
+		
+		if (elem instanceof ComplexFloatType)
+			return new ComplexFloat32Member();
+		
+		if (elem instanceof ComplexDoubleType)
+			return new ComplexFloat64Member();
+		
+		if (elem instanceof ARGBType)
+			return new ArgbMember();
+		
+		if (elem instanceof BitType)
+			return new UnsignedInt1Member();
+		
+		if (elem instanceof UnsignedVariableBitLengthType) {
+			
+			int bpp = ((UnsignedVariableBitLengthType) elem).getBitsPerPixel();
+			
+			switch (bpp) {
+			case 1: return new UnsignedInt1Member();
+			case 2: return new UnsignedInt2Member();
+			case 3: return new UnsignedInt3Member();
+			case 4: return new UnsignedInt4Member();
+			case 5: return new UnsignedInt5Member();
+			case 6: return new UnsignedInt6Member();
+			case 7: return new UnsignedInt7Member();
+			case 8: return new UnsignedInt8Member();
+			case 9: return new UnsignedInt9Member();
+			case 10: return new UnsignedInt10Member();
+			case 11: return new UnsignedInt11Member();
+			case 12: return new UnsignedInt12Member();
+			case 13: return new UnsignedInt13Member();
+			case 14: return new UnsignedInt14Member();
+			case 15: return new UnsignedInt15Member();
+			case 16: return new UnsignedInt16Member();
+			default:
+				if (bpp < 1)
+					return null;
+				if (bpp <= 32)
+					return new UnsignedInt32Member();
+				if (bpp <= 64)
+					return new UnsignedInt64Member();
+				if (bpp <= 128)
+					return new UnsignedInt128Member();
+				return new UnboundedIntMember();
+			}
+		}
+		
+		return null;
+	}
+	
+	// The SCIFIO pixel types that reads and writes handle. imglibType() below
+	//   and zorbageType(Object) above map them. Every other pixel type lookup
+	//   is derived from those two so the read, stream and cache paths agree.
+	
+	private static final int[] PIXEL_TYPES = new int[] {
+			FormatTools.INT8, FormatTools.UINT8, FormatTools.INT16, FormatTools.UINT16,
+			FormatTools.INT32, FormatTools.UINT32, FormatTools.FLOAT, FormatTools.DOUBLE,
+			FormatTools.BIT
+	};
+	
+	// Returns an instance of the zorbage type that values of a FormatTools
+	//   pixel type are read as or null if it is not one we read.
+	
+	static
+	
+		Object
+		
+			zorbageType(int pixelType)
+	{
+		Object elem = imglibType(pixelType);
+		
+		return (elem == null) ? null : zorbageType(elem);
+	}
+	
+	// Returns the FormatTools pixel type that reads as the type of a zorbage
+	//   value or -1 if there is none.
+	
+	static int pixelType(Object zorbageValue)
+	{
+		for (int pixelType : PIXEL_TYPES) {
+			
+			if (zorbageType(pixelType).getClass() == zorbageValue.getClass())
+				return pixelType;
+		}
+		
+		return -1;
+	}
+	
+	// Returns the FormatTools pixel type that reads as the type of an imglib2
+	//   value or -1 if there is none.
+	
+	static int imglibPixelType(Object imglibValue)
+	{
+		for (int pixelType : PIXEL_TYPES) {
+			
+			if (imglibType(pixelType).getClass() == imglibValue.getClass())
+				return pixelType;
+		}
+		
+		return -1;
+	}
+	
+	// True for the pixel types whose values fill whole bytes. These are the
+	//   ones PlaneReader.convert() and PlaneWriter encode.
+	
+	static boolean wholeBytes(int pixelType)
+	{
+		return pixelType != FormatTools.BIT && imglibType(pixelType) != null;
+	}
+	
+	// Returns the imglib2 type that SCIFIO's ImgOpener makes for a
+	//   FormatTools pixel type or null if it is not one we read.
+	
+	private static
+	
+		Object
+		
+			imglibType(int pixelType)
+	{
+		switch (pixelType) {
+		
+		case FormatTools.INT8:
+			return new ByteType();
+			
+		case FormatTools.UINT8:
+			return new UnsignedByteType();
+			
+		case FormatTools.INT16:
+			return new ShortType();
+			
+		case FormatTools.UINT16:
+			return new UnsignedShortType();
+			
+		case FormatTools.INT32:
+			return new IntType();
+			
+		case FormatTools.UINT32:
+			return new UnsignedIntType();
+			
+		case FormatTools.FLOAT:
+			return new FloatType();
+			
+		case FormatTools.DOUBLE:
+			return new DoubleType();
+			
+		case FormatTools.BIT:
+			return new BitType();
+			
+		default:
+			return null;
+		}
+	}
+	
+	// Returns the SCIFIO config that restricts what the opener reads or null
+	//   when the whole file should be read in the default way.
+	
+	private static
+	
+		SCIFIOConfig openerConfig(ReadOptions options)
+	{
+		int[] imageIndices = options.getImageIndices();
+		
+		Map<String, long[]> region = options.getRegion();
+		
+		Map<String, long[]> axisIndices = options.getAxisIndices();
+		
+		if (imageIndices == null && region.isEmpty() && axisIndices.isEmpty() && !options.isFileBacked() && !options.isTiled() &&
+				options.getResolutionLevel() == 0)
+			return null;
+		
+		SCIFIOConfig config = new SCIFIOConfig();
+		
+		// only parse, allocate, and convert the requested images
+		
+		if (imageIndices == null) {
+			
+			config.imgOpenerSetOpenAllImages(true);
+		}
+		else if (imageIndices.length == 1) {
+			
+			config.imgOpenerSetIndex(imageIndices[0]);
+		}
+		else {
+			
+			StringBuilder range = new StringBuilder();
+			
+			for (int i = 0; i < imageIndices.length; i++) {
+				
+				if (i > 0)
+					range.append(',');
+				
+				range.append(imageIndices[i]);
+			}
+			
+			config.imgOpenerSetRange(range.toString());
+		}
+		
+		// keep SCIFIO from holding the whole image in memory too. A preview
+		//   should not need room for the full resolution image either.
+		
+		if (options.isFileBacked() || options.isTiled() || options.getResolutionLevel() > 0)
+			config.imgOpenerSetImgModes(ImgMode.CELL);
+		
+		// only decode the strips or tiles that intersect the region and the
+		//   planes at the chosen axis indices
+		
+		if (!region.isEmpty() || !axisIndices.isEmpty()) {
+			
+			AxisType[] axes = new AxisType[region.size() + axisIndices.size()];
+			
+			String[] ranges = new String[region.size() + axisIndices.size()];
+			
+			int i = 0;
+			
+			for (Map.Entry<String, long[]> entry : region.entrySet()) {
+				
+				axes[i] = Axes.get(entry.getKey());
+				
+				ranges[i] = entry.getValue()[0] + "-" + entry.getValue()[1];
+				
+				i++;
+			}
+			
+			for (Map.Entry<String, long[]> entry : axisIndices.entrySet()) {
+				
+				axes[i] = Axes.get(entry.getKey());
+				
+				ranges[i] = Arrays.stream(entry.getValue()).mapToObj(Long::toString).collect(Collectors.joining(","));
+				
+				i++;
+			}
+			
+			config.imgOpenerSetRegion(new ImageRegion(axes, ranges));
+		}
+		
+		return config;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <I, O extends NativeType<O>>
+	
+		O outputType(I inputType)
+	{
+		if (inputType instanceof UnsignedInt8Member)
+			return (O) new UnsignedByteType();
+
+		if (inputType instanceof UnsignedInt16Member)
+			return (O) new UnsignedShortType();
+		
+		if (inputType instanceof UnsignedInt32Member)
+			return (O) new UnsignedIntType();
+		
+		if (inputType instanceof UnsignedInt64Member)
+			return (O) new UnsignedLongType();
+
+		if (inputType instanceof SignedInt8Member)
+			return (O) new ByteType();
+
+		if (inputType instanceof SignedInt16Member)
+			return (O) new ShortType();
+		
+		if (inputType instanceof SignedInt32Member)
+			return (O) new IntType();
+		
+		if (inputType instanceof SignedInt64Member)
+			return (O) new LongType();
+
+		if (inputType instanceof Float32Member)
+			return (O) new FloatType();
+
+		if (inputType instanceof Float64Member)
+			return (O) new DoubleType();
+
+		// SCIFIO can save bits (FormatTools.BIT) but has no pixel type for the
+		//   other sub byte or odd sized types. They are saved in the smallest
+		//   unsigned type that holds all their values.
+		
+		if (inputType instanceof UnsignedInt1Member)
+			return (O) new BitType();
+		
+		if (inputType instanceof UnsignedInt2Member || inputType instanceof UnsignedInt3Member ||
+				inputType instanceof UnsignedInt4Member || inputType instanceof UnsignedInt5Member ||
+				inputType instanceof UnsignedInt6Member || inputType instanceof UnsignedInt7Member)
+			return (O) new UnsignedByteType();
+		
+		if (inputType instanceof UnsignedInt9Member || inputType instanceof UnsignedInt10Member ||
+				inputType instanceof UnsignedInt11Member || inputType instanceof UnsignedInt12Member ||
+				inputType instanceof UnsignedInt13Member || inputType instanceof UnsignedInt14Member ||
+				inputType instanceof UnsignedInt15Member)
+			return (O) new UnsignedShortType();
+
+		// final fallback (128 bit and unbounded integers, high precision
+		//   reals). Values beyond a double's precision are rounded.
+		
+		if (inputType instanceof GetAsBigDecimal)
+			return (O) new DoubleType();
+
+		return null;
+	}
+	
+	// Pick a converter that copies values through the primitive getters of
+	//   matching zorbage and imglib2 types. Besides the types outputType()
+	//   maps this covers the sub byte, 128 bit, complex and color images that
+	//   SCIFIO reads can produce, so values can be set back into zero copy
+	//   datasets of such images. Anything else goes through the BigDecimal based
+	//   translateValue().
+	
+	@SuppressWarnings("unchecked")
+	private static <I, O extends NativeType<O>>
+	
+		Procedure2<I,O> writeConverter(I inputType, O outputType)
+	{
+		if (inputType instanceof UnsignedInt8Member && outputType instanceof UnsignedByteType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt8Member, UnsignedByteType>()
+		{
+			@Override
+			public void call(UnsignedInt8Member in, UnsignedByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt16Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt16Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt16Member in, UnsignedShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt32Member && outputType instanceof UnsignedIntType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt32Member, UnsignedIntType>()
+		{
+			@Override
+			public void call(UnsignedInt32Member in, UnsignedIntType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt64Member && outputType instanceof UnsignedLongType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt64Member, UnsignedLongType>()
+		{
+			@Override
+			public void call(UnsignedInt64Member in, UnsignedLongType out) {
+
+				// zorbage hands out u64 values as BigIntegers: still far cheaper
+				//   than the BigDecimal route
+
+				out.set(in.v().longValue());
+			}
+		};
+
+		if (inputType instanceof SignedInt8Member && outputType instanceof ByteType)
+			return (Procedure2<I,O>) new Procedure2<SignedInt8Member, ByteType>()
+		{
+			@Override
+			public void call(SignedInt8Member in, ByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof SignedInt16Member && outputType instanceof ShortType)
+			return (Procedure2<I,O>) new Procedure2<SignedInt16Member, ShortType>()
+		{
+			@Override
+			public void call(SignedInt16Member in, ShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof SignedInt32Member && outputType instanceof IntType)
+			return (Procedure2<I,O>) new Procedure2<SignedInt32Member, IntType>()
+		{
+			@Override
+			public void call(SignedInt32Member in, IntType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof SignedInt64Member && outputType instanceof LongType)
+			return (Procedure2<I,O>) new Procedure2<SignedInt64Member, LongType>()
+		{
+			@Override
+			public void call(SignedInt64Member in, LongType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof Float32Member && outputType instanceof FloatType)
+			return (Procedure2<I,O>) new Procedure2<Float32Member, FloatType>()
+		{
+			@Override
+			public void call(Float32Member in, FloatType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof Float64Member && outputType instanceof DoubleType)
+			return (Procedure2<I,O>) new Procedure2<Float64Member, DoubleType>()
+		{
+			@Override
+			public void call(Float64Member in, DoubleType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof ComplexFloat32Member && outputType instanceof ComplexFloatType)
+			return (Procedure2<I,O>) new Procedure2<ComplexFloat32Member, ComplexFloatType>()
+		{
+			@Override
+			public void call(ComplexFloat32Member in, ComplexFloatType out) {
+
+				out.set(in.r(), in.i());
+			}
+		};
+
+		if (inputType instanceof ComplexFloat64Member && outputType instanceof ComplexDoubleType)
+			return (Procedure2<I,O>) new Procedure2<ComplexFloat64Member, ComplexDoubleType>()
+		{
+			@Override
+			public void call(ComplexFloat64Member in, ComplexDoubleType out) {
+
+				out.set(in.r(), in.i());
+			}
+		};
+
+		if (inputType instanceof ArgbMember && outputType instanceof ARGBType)
+			return (Procedure2<I,O>) new Procedure2<ArgbMember, ARGBType>()
+		{
+			@Override
+			public void call(ArgbMember in, ARGBType out) {
+
+				out.set(ARGBType.rgba(in.r(), in.g(), in.b(), in.a()));
+			}
+		};
+
+		if (inputType instanceof UnsignedInt1Member && outputType instanceof BitType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt1Member, BitType>()
+		{
+			@Override
+			public void call(UnsignedInt1Member in, BitType out) {
+
+				out.set(in.v() != 0);
+			}
+		};
+
+		if (inputType instanceof UnsignedInt2Member && outputType instanceof UnsignedByteType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt2Member, UnsignedByteType>()
+		{
+			@Override
+			public void call(UnsignedInt2Member in, UnsignedByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt3Member && outputType instanceof UnsignedByteType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt3Member, UnsignedByteType>()
+		{
+			@Override
+			public void call(UnsignedInt3Member in, UnsignedByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt4Member && outputType instanceof UnsignedByteType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt4Member, UnsignedByteType>()
+		{
+			@Override
+			public void call(UnsignedInt4Member in, UnsignedByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt5Member && outputType instanceof UnsignedByteType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt5Member, UnsignedByteType>()
+		{
+			@Override
+			public void call(UnsignedInt5Member in, UnsignedByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt6Member && outputType instanceof UnsignedByteType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt6Member, UnsignedByteType>()
+		{
+			@Override
+			public void call(UnsignedInt6Member in, UnsignedByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt7Member && outputType instanceof UnsignedByteType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt7Member, UnsignedByteType>()
+		{
+			@Override
+			public void call(UnsignedInt7Member in, UnsignedByteType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt9Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt9Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt9Member in, UnsignedShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt10Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt10Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt10Member in, UnsignedShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt11Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt11Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt11Member in, UnsignedShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt12Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt12Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt12Member in, UnsignedShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt13Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt13Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt13Member in, UnsignedShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt14Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt14Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt14Member in, UnsignedShortType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt15Member && outputType instanceof UnsignedShortType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt15Member, UnsignedShortType>()
+		{
+			@Override
+			public void call(UnsignedInt15Member in, UnsignedShortType out) {
 
-					bundle.mergeUInt16( loadUnsignedV16BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					break;
-					
-				default:
-					
-					if (bpp <= 32) {
-						
-						bundle.mergeUInt32( loadUnsignedV32BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					}
-					else if (bpp <= 64) {
-						
-						bundle.mergeUInt64( loadUnsignedV64BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					}
-					else if (bpp <= 128) {
-						
-						bundle.mergeUInt128( loadUnsignedV128BitImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					}
-					else { // bpp > 128
-						
-						bundle.mergeBigInt( loadUnsignedBigIntImage( (SCIFIOImgPlus<UnsignedVariableBitLengthType>) scifImgPlus) );
-					}
-					break;
-				}
+				out.set(in.v());
 			}
-			else
-				System.out.println("scifio image is of unknown type: " + elem);
-		}
-		
-		return bundle;
-	}
-	
-	@SuppressWarnings("unchecked")
-	private static <I, O extends NativeType<O>>
-	
-		O outputType(I inputType)
-	{
-		if (inputType instanceof UnsignedInt8Member)
-			return (O) new UnsignedByteType();
+		};
 
-		if (inputType instanceof UnsignedInt16Member)
-			return (O) new UnsignedShortType();
-		
-		if (inputType instanceof UnsignedInt32Member)
-			return (O) new UnsignedIntType();
-		
-		if (inputType instanceof UnsignedInt64Member)
-			return (O) new UnsignedLongType();
+		if (inputType instanceof UnsignedInt2Member && outputType instanceof Unsigned2BitType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt2Member, Unsigned2BitType>()
+		{
+			@Override
+			public void call(UnsignedInt2Member in, Unsigned2BitType out) {
 
-		if (inputType instanceof SignedInt8Member)
-			return (O) new ByteType();
+				out.set(in.v());
+			}
+		};
 
-		if (inputType instanceof SignedInt16Member)
-			return (O) new ShortType();
-		
-		if (inputType instanceof SignedInt32Member)
-			return (O) new IntType();
-		
-		if (inputType instanceof SignedInt64Member)
-			return (O) new LongType();
+		if (inputType instanceof UnsignedInt4Member && outputType instanceof Unsigned4BitType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt4Member, Unsigned4BitType>()
+		{
+			@Override
+			public void call(UnsignedInt4Member in, Unsigned4BitType out) {
 
-		if (inputType instanceof Float32Member)
-			return (O) new FloatType();
+				out.set(in.v());
+			}
+		};
 
-		if (inputType instanceof Float64Member)
-			return (O) new DoubleType();
+		if (inputType instanceof UnsignedInt12Member && outputType instanceof Unsigned12BitType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt12Member, Unsigned12BitType>()
+		{
+			@Override
+			public void call(UnsignedInt12Member in, Unsigned12BitType out) {
 
-		// final fallback. DoubleType for now. maybe there is a better mapping possible.
-		
-		if (inputType instanceof GetAsBigDecimal)
-			return (O) new DoubleType();
+				out.set(in.v());
+			}
+		};
 
-		return null;
+		if (inputType instanceof UnsignedInt128Member && outputType instanceof Unsigned128BitType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt128Member, Unsigned128BitType>()
+		{
+			@Override
+			public void call(UnsignedInt128Member in, Unsigned128BitType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt3Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt3Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt3Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt5Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt5Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt5Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt6Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt6Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt6Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt7Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt7Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt7Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt9Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt9Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt9Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt10Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt10Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt10Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt11Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt11Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt11Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt13Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt13Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt13Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt14Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt14Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt14Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		if (inputType instanceof UnsignedInt15Member && outputType instanceof UnsignedVariableBitLengthType)
+			return (Procedure2<I,O>) new Procedure2<UnsignedInt15Member, UnsignedVariableBitLengthType>()
+		{
+			@Override
+			public void call(UnsignedInt15Member in, UnsignedVariableBitLengthType out) {
+
+				out.set(in.v());
+			}
+		};
+
+		return new Procedure2<I,O>()
+		{
+			@Override
+			public void call(I in, O out) {
+
+				translateValue((GetAsBigDecimal) in, out);
+			}
+		};
 	}
 	
 	private static <O extends NativeType<O>, I extends GetAsBigDecimal>
@@ -507,11 +2831,17 @@ public class Scifio {
 
 		else if (output instanceof UnsignedLongType)
 			((UnsignedLongType)output).set(value.toBigInteger());
+
+		// the other real types that reads can produce (bits and the sub byte
+		//   unsigned types)
+		
+		else if (output instanceof RealType)
+			((RealType<?>)output).setReal(value.doubleValue());
 	}
 	
 	private static DimensionedDataSource<UnsignedInt8Member>
 	
-		loadUnsignedByteImage(SCIFIOImgPlus<UnsignedByteType> input)
+		loadUnsignedByteImage(SCIFIOImgPlus<UnsignedByteType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedByteType, UnsignedInt8Member> proc =
 				new Procedure2<UnsignedByteType, UnsignedInt8Member>()
@@ -523,19 +2853,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt8Member> output =
-				makeDataset(input, new UnsignedInt8Member());
-		
-		fillDataset(input, proc, new UnsignedInt8Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt8Member(), options);
 	}
 	
 	private static DimensionedDataSource<SignedInt8Member>
 	
-		loadByteImage(SCIFIOImgPlus<ByteType> input)
+		loadByteImage(SCIFIOImgPlus<ByteType> input, ReadOptions options)
 	{
 		Procedure2<ByteType, SignedInt8Member> proc =
 				new Procedure2<ByteType, SignedInt8Member>()
@@ -547,19 +2870,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<SignedInt8Member> output =
-				makeDataset(input, new SignedInt8Member());
-		
-		fillDataset(input, proc, new SignedInt8Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new SignedInt8Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt16Member>
 	
-		loadUnsignedShortImage(SCIFIOImgPlus<UnsignedShortType> input)
+		loadUnsignedShortImage(SCIFIOImgPlus<UnsignedShortType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedShortType, UnsignedInt16Member> proc =
 				new Procedure2<UnsignedShortType, UnsignedInt16Member>()
@@ -571,19 +2887,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt16Member> output =
-				makeDataset(input, new UnsignedInt16Member());
-		
-		fillDataset(input, proc, new UnsignedInt16Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt16Member(), options);
 	}
 
 	private static DimensionedDataSource<SignedInt16Member>
 	
-		loadShortImage(SCIFIOImgPlus<ShortType> input)
+		loadShortImage(SCIFIOImgPlus<ShortType> input, ReadOptions options)
 	{
 		Procedure2<ShortType, SignedInt16Member> proc =
 				new Procedure2<ShortType, SignedInt16Member>()
@@ -595,19 +2904,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<SignedInt16Member> output =
-				makeDataset(input, new SignedInt16Member());
-		
-		fillDataset(input, proc, new SignedInt16Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new SignedInt16Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt32Member>
 	
-		loadUnsignedIntImage(SCIFIOImgPlus<UnsignedIntType> input)
+		loadUnsignedIntImage(SCIFIOImgPlus<UnsignedIntType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedIntType, UnsignedInt32Member> proc =
 				new Procedure2<UnsignedIntType, UnsignedInt32Member>()
@@ -619,19 +2921,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt32Member> output =
-				makeDataset(input, new UnsignedInt32Member());
-		
-		fillDataset(input, proc, new UnsignedInt32Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt32Member(), options);
 	}
 
 	private static DimensionedDataSource<SignedInt32Member>
 	
-		loadIntImage(SCIFIOImgPlus<IntType> input)
+		loadIntImage(SCIFIOImgPlus<IntType> input, ReadOptions options)
 	{
 		Procedure2<IntType, SignedInt32Member> proc =
 				new Procedure2<IntType, SignedInt32Member>()
@@ -643,19 +2938,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<SignedInt32Member> output =
-				makeDataset(input, new SignedInt32Member());
-		
-		fillDataset(input, proc, new SignedInt32Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new SignedInt32Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt64Member>
 	
-		loadUnsignedLongImage(SCIFIOImgPlus<UnsignedLongType> input)
+		loadUnsignedLongImage(SCIFIOImgPlus<UnsignedLongType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedLongType, UnsignedInt64Member> proc =
 				new Procedure2<UnsignedLongType, UnsignedInt64Member>()
@@ -667,19 +2955,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt64Member> output =
-				makeDataset(input, new UnsignedInt64Member());
-		
-		fillDataset(input, proc, new UnsignedInt64Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt64Member(), options);
 	}
 
 	private static DimensionedDataSource<SignedInt64Member>
 	
-		loadLongImage(SCIFIOImgPlus<LongType> input)
+		loadLongImage(SCIFIOImgPlus<LongType> input, ReadOptions options)
 	{
 		Procedure2<LongType, SignedInt64Member> proc =
 				new Procedure2<LongType, SignedInt64Member>()
@@ -691,19 +2972,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<SignedInt64Member> output =
-				makeDataset(input, new SignedInt64Member());
-		
-		fillDataset(input, proc, new SignedInt64Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new SignedInt64Member(), options);
 	}
 
 	private static DimensionedDataSource<Float32Member>
 	
-		loadFloatImage(SCIFIOImgPlus<FloatType> input)
+		loadFloatImage(SCIFIOImgPlus<FloatType> input, ReadOptions options)
 	{
 		Procedure2<FloatType, Float32Member> proc =
 				new Procedure2<FloatType, Float32Member>()
@@ -715,19 +2989,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<Float32Member> output =
-				makeDataset(input, new Float32Member());
-		
-		fillDataset(input, proc, new Float32Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new Float32Member(), options);
 	}
 
 	private static DimensionedDataSource<Float64Member>
 	
-		loadDoubleImage(SCIFIOImgPlus<DoubleType> input)
+		loadDoubleImage(SCIFIOImgPlus<DoubleType> input, ReadOptions options)
 	{
 		Procedure2<DoubleType, Float64Member> proc =
 				new Procedure2<DoubleType, Float64Member>()
@@ -739,19 +3006,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<Float64Member> output =
-				makeDataset(input, new Float64Member());
-		
-		fillDataset(input, proc, new Float64Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new Float64Member(), options);
 	}
 
 	private static DimensionedDataSource<ComplexFloat32Member>
 	
-		loadComplexFloatImage(SCIFIOImgPlus<ComplexFloatType> input)
+		loadComplexFloatImage(SCIFIOImgPlus<ComplexFloatType> input, ReadOptions options)
 	{
 		Procedure2<ComplexFloatType, ComplexFloat32Member> proc =
 				new Procedure2<ComplexFloatType, ComplexFloat32Member>()
@@ -765,19 +3025,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<ComplexFloat32Member> output =
-				makeDataset(input, new ComplexFloat32Member());
-		
-		fillDataset(input, proc, new ComplexFloat32Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new ComplexFloat32Member(), options);
 	}
 
 	private static DimensionedDataSource<ComplexFloat64Member>
 	
-		loadComplexDoubleImage(SCIFIOImgPlus<ComplexDoubleType> input)
+		loadComplexDoubleImage(SCIFIOImgPlus<ComplexDoubleType> input, ReadOptions options)
 	{
 		Procedure2<ComplexDoubleType, ComplexFloat64Member> proc =
 				new Procedure2<ComplexDoubleType, ComplexFloat64Member>()
@@ -791,19 +3044,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<ComplexFloat64Member> output =
-				makeDataset(input, new ComplexFloat64Member());
-		
-		fillDataset(input, proc, new ComplexFloat64Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new ComplexFloat64Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt2Member>
 	
-		loadUnsigned2BitImage(SCIFIOImgPlus<Unsigned2BitType> input)
+		loadUnsigned2BitImage(SCIFIOImgPlus<Unsigned2BitType> input, ReadOptions options)
 	{
 		Procedure2<Unsigned2BitType, UnsignedInt2Member> proc =
 				new Procedure2<Unsigned2BitType, UnsignedInt2Member>()
@@ -815,19 +3061,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt2Member> output =
-				makeDataset(input, new UnsignedInt2Member());
-		
-		fillDataset(input, proc, new UnsignedInt2Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt2Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt4Member>
 	
-		loadUnsigned4BitImage(SCIFIOImgPlus<Unsigned4BitType> input)
+		loadUnsigned4BitImage(SCIFIOImgPlus<Unsigned4BitType> input, ReadOptions options)
 	{
 		Procedure2<Unsigned4BitType, UnsignedInt4Member> proc =
 				new Procedure2<Unsigned4BitType, UnsignedInt4Member>()
@@ -839,19 +3078,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt4Member> output =
-				makeDataset(input, new UnsignedInt4Member());
-		
-		fillDataset(input, proc, new UnsignedInt4Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt4Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt12Member>
 	
-		loadUnsigned12BitImage(SCIFIOImgPlus<Unsigned12BitType> input)
+		loadUnsigned12BitImage(SCIFIOImgPlus<Unsigned12BitType> input, ReadOptions options)
 	{
 		Procedure2<Unsigned12BitType, UnsignedInt12Member> proc =
 				new Procedure2<Unsigned12BitType, UnsignedInt12Member>()
@@ -863,19 +3095,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt12Member> output =
-				makeDataset(input, new UnsignedInt12Member());
-		
-		fillDataset(input, proc, new UnsignedInt12Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt12Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt128Member>
 	
-		loadUnsigned128BitImage(SCIFIOImgPlus<Unsigned128BitType> input)
+		loadUnsigned128BitImage(SCIFIOImgPlus<Unsigned128BitType> input, ReadOptions options)
 	{
 		Procedure2<Unsigned128BitType, UnsignedInt128Member> proc =
 				new Procedure2<Unsigned128BitType, UnsignedInt128Member>()
@@ -887,19 +3112,29 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt128Member> output =
-				makeDataset(input, new UnsignedInt128Member());
-		
-		fillDataset(input, proc, new UnsignedInt128Member(), output);
-		
-		updateMetadata(input, output);
+		return loadImage(input, proc, new UnsignedInt128Member(), options);
+	}
+
+	private static DimensionedDataSource<UnsignedInt1Member>
+	
+		loadBitImage(SCIFIOImgPlus<BitType> input, ReadOptions options)
+	{
+		Procedure2<BitType, UnsignedInt1Member> proc =
+				new Procedure2<BitType, UnsignedInt1Member>()
+		{
+			@Override
+			public void call(BitType in, UnsignedInt1Member out) {
+	
+				out.setV(in.get() ? 1 : 0);
+			}
+		};
 		
-		return output;
+		return loadImage(input, proc, new UnsignedInt1Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt1Member>
 	
-		loadUnsignedV1BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV1BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt1Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt1Member>()
@@ -911,19 +3146,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt1Member> output =
-				makeDataset(input, new UnsignedInt1Member());
-		
-		fillDataset(input, proc, new UnsignedInt1Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt1Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt2Member>
 	
-		loadUnsignedV2BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV2BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt2Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt2Member>()
@@ -935,19 +3163,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt2Member> output =
-				makeDataset(input, new UnsignedInt2Member());
-		
-		fillDataset(input, proc, new UnsignedInt2Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt2Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt3Member>
 	
-		loadUnsignedV3BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV3BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt3Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt3Member>()
@@ -959,19 +3180,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt3Member> output =
-				makeDataset(input, new UnsignedInt3Member());
-		
-		fillDataset(input, proc, new UnsignedInt3Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt3Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt4Member>
 	
-		loadUnsignedV4BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV4BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt4Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt4Member>()
@@ -983,19 +3197,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt4Member> output =
-				makeDataset(input, new UnsignedInt4Member());
-		
-		fillDataset(input, proc, new UnsignedInt4Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt4Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt5Member>
 	
-		loadUnsignedV5BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV5BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt5Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt5Member>()
@@ -1007,19 +3214,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt5Member> output =
-				makeDataset(input, new UnsignedInt5Member());
-		
-		fillDataset(input, proc, new UnsignedInt5Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt5Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt6Member>
 	
-		loadUnsignedV6BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV6BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt6Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt6Member>()
@@ -1031,19 +3231,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt6Member> output =
-				makeDataset(input, new UnsignedInt6Member());
-		
-		fillDataset(input, proc, new UnsignedInt6Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt6Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt7Member>
 	
-		loadUnsignedV7BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV7BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt7Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt7Member>()
@@ -1055,19 +3248,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt7Member> output =
-				makeDataset(input, new UnsignedInt7Member());
-		
-		fillDataset(input, proc, new UnsignedInt7Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt7Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt8Member>
 	
-		loadUnsignedV8BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV8BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt8Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt8Member>()
@@ -1079,19 +3265,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt8Member> output =
-				makeDataset(input, new UnsignedInt8Member());
-		
-		fillDataset(input, proc, new UnsignedInt8Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt8Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt9Member>
 	
-		loadUnsignedV9BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV9BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt9Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt9Member>()
@@ -1103,19 +3282,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt9Member> output =
-				makeDataset(input, new UnsignedInt9Member());
-		
-		fillDataset(input, proc, new UnsignedInt9Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt9Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt10Member>
 	
-		loadUnsignedV10BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV10BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt10Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt10Member>()
@@ -1127,19 +3299,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt10Member> output =
-				makeDataset(input, new UnsignedInt10Member());
-		
-		fillDataset(input, proc, new UnsignedInt10Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt10Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt11Member>
 	
-		loadUnsignedV11BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV11BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt11Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt11Member>()
@@ -1151,19 +3316,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt11Member> output =
-				makeDataset(input, new UnsignedInt11Member());
-		
-		fillDataset(input, proc, new UnsignedInt11Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt11Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt12Member>
 	
-		loadUnsignedV12BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV12BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt12Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt12Member>()
@@ -1175,19 +3333,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt12Member> output =
-				makeDataset(input, new UnsignedInt12Member());
-		
-		fillDataset(input, proc, new UnsignedInt12Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt12Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt13Member>
 	
-		loadUnsignedV13BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV13BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt13Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt13Member>()
@@ -1199,19 +3350,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt13Member> output =
-				makeDataset(input, new UnsignedInt13Member());
-		
-		fillDataset(input, proc, new UnsignedInt13Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt13Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt14Member>
 	
-		loadUnsignedV14BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV14BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt14Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt14Member>()
@@ -1223,19 +3367,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt14Member> output =
-				makeDataset(input, new UnsignedInt14Member());
-		
-		fillDataset(input, proc, new UnsignedInt14Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt14Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt15Member>
 	
-		loadUnsignedV15BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV15BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt15Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt15Member>()
@@ -1247,19 +3384,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt15Member> output =
-				makeDataset(input, new UnsignedInt15Member());
-		
-		fillDataset(input, proc, new UnsignedInt15Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt15Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt16Member>
 	
-		loadUnsignedV16BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV16BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt16Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt16Member>()
@@ -1271,19 +3401,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt16Member> output =
-				makeDataset(input, new UnsignedInt16Member());
-		
-		fillDataset(input, proc, new UnsignedInt16Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt16Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt32Member>
 	
-		loadUnsignedV32BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV32BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt32Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt32Member>()
@@ -1295,19 +3418,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt32Member> output =
-				makeDataset(input, new UnsignedInt32Member());
-		
-		fillDataset(input, proc, new UnsignedInt32Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt32Member(), options);
 	}
 
 	private static DimensionedDataSource<UnsignedInt64Member>
 	
-		loadUnsignedV64BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV64BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt64Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt64Member>()
@@ -1319,19 +3435,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt64Member> output =
-				makeDataset(input, new UnsignedInt64Member());
-		
-		fillDataset(input, proc, new UnsignedInt64Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt64Member(), options);
 	}
 	
 	private static DimensionedDataSource<UnsignedInt128Member>
 	
-		loadUnsignedV128BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedV128BitImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnsignedInt128Member> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnsignedInt128Member>()
@@ -1343,19 +3452,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnsignedInt128Member> output =
-				makeDataset(input, new UnsignedInt128Member());
-		
-		fillDataset(input, proc, new UnsignedInt128Member(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnsignedInt128Member(), options);
 	}
 	
 	private static DimensionedDataSource<UnboundedIntMember>
 	
-		loadUnsignedBigIntImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input)
+		loadUnsignedBigIntImage(SCIFIOImgPlus<UnsignedVariableBitLengthType> input, ReadOptions options)
 	{
 		Procedure2<UnsignedVariableBitLengthType, UnboundedIntMember> proc =
 				new Procedure2<UnsignedVariableBitLengthType, UnboundedIntMember>()
@@ -1367,19 +3469,12 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<UnboundedIntMember> output =
-				makeDataset(input, new UnboundedIntMember());
-		
-		fillDataset(input, proc, new UnboundedIntMember(), output);
-		
-		updateMetadata(input, output);
-		
-		return output;
+		return loadImage(input, proc, new UnboundedIntMember(), options);
 	}
 	
 	private static DimensionedDataSource<ArgbMember>
 	
-		loadARGBTypeImage(SCIFIOImgPlus<ARGBType> input)
+		loadARGBTypeImage(SCIFIOImgPlus<ARGBType> input, ReadOptions options)
 	{
 		Procedure2<ARGBType, ArgbMember> proc =
 				new Procedure2<ARGBType, ArgbMember>()
@@ -1399,19 +3494,55 @@ public class Scifio {
 			}
 		};
 		
-		DimensionedDataSource<ArgbMember> output =
-				makeDataset(input, new ArgbMember());
+		return loadImage(input, proc, new ArgbMember(), options);
+	}
+
+	private static <U, W extends Allocatable<W>>
+	
+		DimensionedDataSource<W> loadImage(SCIFIOImgPlus<U> input, Procedure2<U,W> converter, W type, ReadOptions options)
+	{
+		return loadImage(input, converter, imageSetter(type, input.firstElement()), type, true, options);
+	}
+	
+	// Values set in a zero copy dataset go back into the image through the
+	//   same converters that writes use.
+	
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <U, W>
+	
+		Procedure2<W,U> imageSetter(W type, U imageType)
+	{
+		return (Procedure2<W,U>) writeConverter(type, (NativeType) imageType);
+	}
+
+	// direct is true when converter only changes the type of a value. Then
+	//   the pixels of primitive backed images can be copied without it.
+	
+	private static <U, W extends Allocatable<W>>
+	
+		DimensionedDataSource<W> loadImage(SCIFIOImgPlus<U> input, Procedure2<U,W> converter, Procedure2<W,U> setter, W type, boolean direct, ReadOptions options)
+	{
+		DimensionedDataSource<W> output;
 		
-		fillDataset(input, proc, new ArgbMember(), output);
+		if (options.isZeroCopy()) {
+			
+			// wrap the image and convert values as they are accessed
+			
+			output = new NdData<W>(dims(input), new ImgPlusDataSource<U,W>(input, converter, setter, type));
+		}
+		else {
+			
+			output = makeDataset(input, type, options);
+			
+			fillDataset(input, converter, type.allocate(), output, direct, options);
+		}
 		
-		updateMetadata(input, output);
+		updateMetadata(input, output, options);
 		
 		return output;
 	}
-
-	private static <U extends Allocatable<U>> DimensionedDataSource<U>
 	
-		makeDataset(SCIFIOImgPlus<?> sciImgPlus, U type)
+	private static long[] dims(SCIFIOImgPlus<?> sciImgPlus)
 	{
 		long[] dims = new long[sciImgPlus.numDimensions()];
 
@@ -1419,14 +3550,410 @@ public class Scifio {
 		
 			dims[i] = sciImgPlus.dimension(i);
 		}
-
-		return DimensionedStorage.allocate(type, dims);
+		
+		return dims;
+	}
+
+	private static <U extends Allocatable<U>> DimensionedDataSource<U>
+	
+		makeDataset(SCIFIOImgPlus<?> sciImgPlus, U type, ReadOptions options)
+	{
+		long[] dims = dims(sciImgPlus);
+		
+		long step = 1L << options.getResolutionLevel();
+		
+		for (int i = 0; i < Math.min(2, dims.length); i++) {
+			
+			dims[i] = (dims[i] + step - 1) / step;
+		}
+		
+		return makeDataset(dims, estimatedBytes(sciImgPlus) / step / step, type, options);
+	}
+
+	static <U extends Allocatable<U>> DimensionedDataSource<U>
+	
+		makeDataset(long[] dims, long estimatedBytes, U type, ReadOptions options)
+	{
+		if (options.isFileBacked() || estimatedBytes > options.getFileBackedThreshold()) {
+			
+			long numElements = 1;
+			
+			for (int i = 0; i < dims.length; i++) {
+				
+				numElements *= dims[i];
+			}
+			
+			IndexedDataSource<U> data = Storage.allocate(StorageConstruction.MEM_VIRTUAL, type, numElements);
+			
+			return new NdData<U>(dims, data);
+		}
+		
+		return DimensionedStorage.allocate(type, dims);
+	}
+	
+	// an estimate of the bytes needed to hold all the pixels of an image
+	
+	private static long estimatedBytes(SCIFIOImgPlus<?> sciImgPlus)
+	{
+		Object elem = sciImgPlus.firstElement();
+		
+		long bitsPerPixel;
+		
+		if (elem instanceof RealType)
+			bitsPerPixel = ((RealType<?>) elem).getBitsPerPixel();
+		else if (elem instanceof ComplexDoubleType)
+			bitsPerPixel = 128;
+		else if (elem instanceof ComplexFloatType)
+			bitsPerPixel = 64;
+		else if (elem instanceof ARGBType)
+			bitsPerPixel = 32;
+		else
+			bitsPerPixel = 64;
+		
+		long bytesPerPixel = (bitsPerPixel + 7) / 8;
+		
+		long total = bytesPerPixel;
+		
+		for (int i = 0; i < sciImgPlus.numDimensions(); i++) {
+			
+			long dim = sciImgPlus.dimension(i);
+			
+			if (dim != 0 && total > Long.MAX_VALUE / dim)
+				return Long.MAX_VALUE;
+			
+			total *= dim;
+		}
+		
+		return total;
+	}
+	
+	private static <U, W extends Allocatable<W>>
+	
+		void fillDataset(SCIFIOImgPlus<U> input, Procedure2<U,W> converter, W outValue, DimensionedDataSource<W> output, boolean direct, ReadOptions options)
+	{
+		// SCIFIO holds large images in cells that match the reader's tiles or
+		//   strips. Walking those a cell at a time decodes each tile once. File
+		//   backed storage is instead written in plane order since cell order
+		//   would scatter its writes all over the backing file. SCIFIO caches
+		//   the decoded cells so a plane by plane walk still decodes few twice.
+		
+		Img<U> img = baseImg(input);
+		
+		boolean virtual = output.rawData().storageType() == StorageConstruction.MEM_VIRTUAL;
+		
+		if (img instanceof AbstractCellImg && sameDims(img, output) && !virtual) {
+			
+			fillCells(input, (AbstractCellImg<?,?,?,?>) img, converter, outValue, output, direct, options);
+			
+			return;
+		}
+		
+		long numPlanes = 1;
+		
+		for (int i = 2; i < output.numDimensions(); i++) {
+			
+			numPlanes *= output.dimension(i);
+		}
+		
+		long step = 1L << options.getResolutionLevel();
+		
+		int numTasks = options.getParallelism();
+		
+		if (numTasks > numPlanes)
+			numTasks = (int) numPlanes;
+		
+		// some storage types (like bit packed or file backed ones) cannot be written
+		//   to by multiple threads at once
+		
+		if (output.rawData().accessWithOneThread())
+			numTasks = 1;
+		
+		// the cells of a SCIFIO cell image are loaded on first touch through
+		//   the one Reader that opened the image. Readers are not thread safe
+		//   and a plane walk touches cells from no single place where a lock
+		//   could be held so cell images are walked by a single thread.
+		
+		if (img instanceof AbstractCellImg)
+			numTasks = 1;
+		
+		if (numTasks <= 1) {
+			
+			fillPlanes(input, converter, outValue, output, step, 0, numPlanes, direct);
+			
+			return;
+		}
+		
+		List<Callable<Object>> tasks = new ArrayList<>();
+		
+		for (int t = 0; t < numTasks; t++) {
+			
+			long firstPlane = numPlanes * t / numTasks;
+			
+			long endPlane = numPlanes * (t+1) / numTasks;
+			
+			// each worker gets its own output value so that nothing is shared
+			
+			W workerValue = outValue.allocate();
+			
+			tasks.add(new Callable<Object>() {
+				
+				@Override
+				public Object call() {
+					
+					fillPlanes(input, converter, workerValue, output, step, firstPlane, endPlane, direct);
+					
+					return null;
+				}
+			});
+		}
+		
+		runTasks(tasks, options.getExecutor());
+	}
+	
+	private static boolean sameDims(Img<?> img, DimensionedDataSource<?> output)
+	{
+		if (img.numDimensions() != output.numDimensions())
+			return false;
+		
+		for (int i = 0; i < img.numDimensions(); i++) {
+			
+			if (img.dimension(i) != output.dimension(i))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	// Splits the cells of a cell image between tasks and copies them.
+	
+	private static <U, W extends Allocatable<W>>
+	
+		void fillCells(SCIFIOImgPlus<U> input, AbstractCellImg<?,?,?,?> img, Procedure2<U,W> converter, W outValue, DimensionedDataSource<W> output, boolean direct, ReadOptions options)
+	{
+		long numCells = 1;
+		
+		for (long dim : img.getCellGrid().getGridDimensions()) {
+			
+			numCells *= dim;
+		}
+		
+		int numTasks = options.getParallelism();
+		
+		if (numTasks > numCells)
+			numTasks = (int) numCells;
+		
+		if (output.rawData().accessWithOneThread())
+			numTasks = 1;
+		
+		if (numTasks <= 1) {
+			
+			copyCells(input, img, converter, outValue, output, 0, numCells, direct);
+			
+			return;
+		}
+		
+		List<Callable<Object>> tasks = new ArrayList<>();
+		
+		for (int t = 0; t < numTasks; t++) {
+			
+			long firstCell = numCells * t / numTasks;
+			
+			long endCell = numCells * (t+1) / numTasks;
+			
+			W workerValue = outValue.allocate();
+			
+			tasks.add(new Callable<Object>() {
+				
+				@Override
+				public Object call() {
+					
+					copyCells(input, img, converter, workerValue, output, firstCell, endCell, direct);
+					
+					return null;
+				}
+			});
+		}
+		
+		runTasks(tasks, options.getExecutor());
+	}
+	
+	// Copies the cells numbered firstCell (inclusive) to endCell (exclusive).
+	//   Cells are fetched one at a time so only the cells being copied need
+	//   to be decoded and held in memory. A cell is loaded on first touch
+	//   through the one Reader that opened the image and Readers are not
+	//   thread safe, so fetches lock the image and tasks only copy in
+	//   parallel. The fetched cell stays strongly referenced while it is
+	//   copied so the RandomAccess below only ever finds it in the cache
+	//   and never loads it again. Each row of a cell is contiguous in
+	//   both the cell's array and the output so rows are read straight from
+	//   the cell's array when it is a primitive array of a supported type and
+	//   direct copies are allowed. Other cells are converted through a
+	//   RandomAccess.
+	
+	private static <U,W>
+	
+		void copyCells(SCIFIOImgPlus<U> input, AbstractCellImg<?,?,?,?> img, Procedure2<U,W> converter, W outValue, DimensionedDataSource<W> output, long firstCell, long endCell, boolean direct)
+	{
+		int numD = output.numDimensions();
+		
+		long[] strides = new long[numD];
+		
+		long stride = 1;
+		
+		for (int i = 0; i < numD; i++) {
+			
+			strides[i] = stride;
+			
+			stride *= output.dimension(i);
+		}
+		
+		CellGrid grid = img.getCellGrid();
+		
+		RandomAccess<? extends Cell<?>> cells = img.getCells().randomAccess();
+		
+		RandomAccess<U> r = input.randomAccess();
+		
+		U type = input.firstElement();
+		
+		IndexedDataSource<W> raw = output.rawData();
+		
+		long[] gridPos = new long[numD];
+		
+		int[] cellDims = new int[numD];
+		
+		long[] pos = new long[numD];
+		
+		for (long c = firstCell; c < endCell; c++) {
+			
+			checkCancelled();
+			
+			grid.getCellGridPositionFlat(c, gridPos);
+			
+			Cell<?> cell;
+			
+			synchronized (img) {
+				
+				cells.setPosition(gridPos);
+				
+				cell = cells.get();
+			}
+			
+			cell.dimensions(cellDims);
+			
+			Object data = cell.getData();
+			
+			Object array = null;
+			
+			if (data instanceof ArrayDataAccess)
+				array = ((ArrayDataAccess<?>) data).getCurrentStorageArray();
+			
+			long rowLength = cellDims[0];
+			
+			long numRows = cell.size() / rowLength;
+			
+			for (long row = 0; row < numRows; row++) {
+				
+				// find the output index of the first value of the row
+				
+				long rest = row;
+				
+				long index = cell.min(0) * strides[0];
+				
+				for (int i = 1; i < numD; i++) {
+					
+					pos[i] = cell.min(i) + rest % cellDims[i];
+					
+					rest /= cellDims[i];
+					
+					index += pos[i] * strides[i];
+				}
+				
+				if (direct && array != null && copyElements(type, array, (int) (row * rowLength), index, (int) rowLength, outValue, raw))
+					continue;
+				
+				// the type is the same for every row so stop trying direct copies
+				
+				array = null;
+				
+				for (int i = 1; i < numD; i++) {
+					
+					r.setPosition(pos[i], i);
+				}
+				
+				for (long x = 0; x < rowLength; x++) {
+					
+					r.setPosition(cell.min(0) + x, 0);
+					
+					converter.call(r.get(), outValue);
+					
+					raw.set(index + x, outValue);
+				}
+			}
+		}
+	}
+	
+	// Returns the Img that holds the pixels of a SCIFIOImgPlus
+	
+	@SuppressWarnings("unchecked")
+	static <U>
+	
+		Img<U> baseImg(SCIFIOImgPlus<U> input)
+	{
+		Img<U> img = input.getImg();
+		
+		while (img instanceof ImgPlus) {
+			
+			img = ((ImgPlus<U>) img).getImg();
+		}
+		
+		return img;
+	}
+	
+	// Runs tasks on an executor (the common ForkJoinPool when null) and waits for
+	// all of them to finish. An interrupt while waiting becomes a cancellation and
+	// the first failure of a task is rethrown.
+	
+	static void runTasks(List<Callable<Object>> tasks, ExecutorService executor)
+	{
+		if (executor == null)
+			executor = ForkJoinPool.commonPool();
+		
+		try {
+			
+			for (Future<Object> future : executor.invokeAll(tasks)) {
+				
+				future.get();
+			}
+		}
+		catch (InterruptedException e) {
+			
+			Thread.currentThread().interrupt();
+			
+			throw new CancellationException("interrupted while waiting for tasks");
+		}
+		catch (ExecutionException e) {
+			
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			
+			throw new IllegalStateException("task failed", e.getCause());
+		}
 	}
 	
+	// Fills the planes numbered firstPlane (inclusive) to endPlane (exclusive). A plane
+	// number is the position in the non-XY dims with dim 2 varying fastest. Each call
+	// uses its own RandomAccess and PlaneView so calls on disjoint planes can run in
+	// parallel. A step above 1 downsamples X and Y by taking every step'th pixel.
+	
 	private static <U,W>
 	
-		void fillDataset(SCIFIOImgPlus<U> input, Procedure2<U,W> converter, W outValue, DimensionedDataSource<W> output)
+		void fillPlanes(SCIFIOImgPlus<U> input, Procedure2<U,W> converter, W outValue, DimensionedDataSource<W> output, long step, long firstPlane, long endPlane, boolean direct)
 	{
+		// when the image is backed by primitive arrays read them directly
+
+		if (direct && step == 1 && bulkFill(input, outValue, output, firstPlane, endPlane))
+			return;
+
 		PlaneView<W> planes = new PlaneView<>(output, 0, 1);
 		
 		int numPlaneDims = output.numDimensions() - 2;
@@ -1439,19 +3966,36 @@ public class Scifio {
 		
 		RandomAccess<U> r = input.randomAccess();
 		
-		IntegerIndex planeIndex = new IntegerIndex(numPlaneDims);
+		// iterate through planes
 		
-		if (numPlaneDims == 0) {
-
+		for (long p = firstPlane; p < endPlane; p++) {
+			
+			checkCancelled();
+			
+			// move the imglib index and our planes index to match this plane
+			
+			long planeNum = p;
+			
+			for (int i = 0; i < numPlaneDims; i++) {
+				
+				long pos = planeNum % planeDims[i];
+				
+				planeNum /= planeDims[i];
+				
+				r.setPosition(pos, i+2);
+				
+				planes.setPositionValue(i, pos);
+			}
+			
 			// iterate within the plane and copy values
 			
 			for (long y = 0; y < planes.d1(); y++) {
 				
-				r.setPosition(y, 1);
+				r.setPosition(y * step, 1);
 				
 				for (long x = 0; x < planes.d0(); x++) {
-					
-					r.setPosition(x, 0);
+				
+					r.setPosition(x * step, 0);
 					
 					U inValue = r.get();
 					
@@ -1461,51 +4005,396 @@ public class Scifio {
 				}				
 			}
 		}
-		else {
-			
-			SamplingIterator<IntegerIndex> planeIter = GridIterator.compute(planeDims);
+	}
+
+	// Copies the pixels of an ArrayImg or PlanarImg straight from their primitive
+	// backing arrays into the raw storage of the output. Both imglib2 and zorbage
+	// lay out their elements with dimension 0 varying fastest so a flat array index
+	// maps directly to a raw zorbage index. Values are still stored one at a time
+	// through the output's IndexedDataSource. What is saved is the RandomAccess
+	// positioning and imglib2 type access per pixel. Returns false when the image
+	// layout or type is not one that can be copied this way.
+	
+	@SuppressWarnings("unchecked")
+	private static <U,W>
 	
-			// iterate through planes
+		boolean bulkFill(SCIFIOImgPlus<U> input, W outValue, DimensionedDataSource<W> output, long firstPlane, long endPlane)
+	{
+		Img<U> img = baseImg(input);
+		
+		U type = input.firstElement();
+		
+		IndexedDataSource<W> raw = output.rawData();
+		
+		long planeSize = img.dimension(0);
+		
+		if (img.numDimensions() > 1)
+			planeSize *= img.dimension(1);
+		
+		if (img instanceof ArrayImg) {
+			
+			Object access = ((ArrayImg<?,?>) img).update(null);
+			
+			if (!(access instanceof ArrayDataAccess))
+				return false;
+			
+			// an ArrayImg never holds more than Integer.MAX_VALUE elements
+			
+			long offset = firstPlane * planeSize;
+			
+			int count = (int) ((endPlane - firstPlane) * planeSize);
 			
-			while (planeIter.hasNext()) {
+			Object array = ((ArrayDataAccess<?>) access).getCurrentStorageArray();
+			
+			return copyElements(type, array, (int) offset, offset, count, outValue, raw);
+		}
+		
+		if (img instanceof PlanarImg) {
+			
+			PlanarImg<?,?> planar = (PlanarImg<?,?>) img;
+			
+			if (planeSize > Integer.MAX_VALUE)
+				return false;
+			
+			for (long p = firstPlane; p < endPlane; p++) {
+				
+				checkCancelled();
 				
-				// find next plane
-				planeIter.next(planeIndex);
+				Object array = planar.getPlane((int) p).getCurrentStorageArray();
+				
+				// all planes share one type so only the first plane can be refused
+				
+				if (!copyElements(type, array, 0, p * planeSize, (int) planeSize, outValue, raw))
+					return false;
+			}
+			
+			return true;
+		}
+		
+		return false;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <W>
 	
-				// move the imglib index and our planes index to match this plane
+		boolean copyElements(Object type, Object array, int arrayOffset, long offset, int count, W outValue, IndexedDataSource<W> raw)
+	{
+		if (type instanceof UnsignedByteType && array instanceof byte[] && outValue instanceof UnsignedInt8Member) {
+			
+			byte[] values = (byte[]) array;
+			
+			UnsignedInt8Member out = (UnsignedInt8Member) outValue;
+			
+			IndexedDataSource<UnsignedInt8Member> dest = (IndexedDataSource<UnsignedInt8Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
 				
-				for (int i = 0; i < numPlaneDims; i++) {
-
-					r.setPosition(planeIndex.get(i), i+2);
-					
-					planes.setPositionValue(i, planeIndex.get(i));
-				}
+				out.setV(values[arrayOffset + i] & 0xff);
 				
-				// iterate within the plane and copy values
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof ByteType && array instanceof byte[] && outValue instanceof SignedInt8Member) {
+			
+			byte[] values = (byte[]) array;
+			
+			SignedInt8Member out = (SignedInt8Member) outValue;
+			
+			IndexedDataSource<SignedInt8Member> dest = (IndexedDataSource<SignedInt8Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
 				
-				for (long y = 0; y < planes.d1(); y++) {
-					
-					r.setPosition(y, 1);
-					
-					for (long x = 0; x < planes.d0(); x++) {
-					
-						r.setPosition(x, 0);
-						
-						U inValue = r.get();
-						
-						converter.call(inValue, outValue);
-						
-						planes.set(x, y, outValue);
-					}				
-				}
+				out.setV(values[arrayOffset + i]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof UnsignedShortType && array instanceof short[] && outValue instanceof UnsignedInt16Member) {
+			
+			short[] values = (short[]) array;
+			
+			UnsignedInt16Member out = (UnsignedInt16Member) outValue;
+			
+			IndexedDataSource<UnsignedInt16Member> dest = (IndexedDataSource<UnsignedInt16Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				out.setV(values[arrayOffset + i] & 0xffff);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof ShortType && array instanceof short[] && outValue instanceof SignedInt16Member) {
+			
+			short[] values = (short[]) array;
+			
+			SignedInt16Member out = (SignedInt16Member) outValue;
+			
+			IndexedDataSource<SignedInt16Member> dest = (IndexedDataSource<SignedInt16Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				out.setV(values[arrayOffset + i]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof UnsignedIntType && array instanceof int[] && outValue instanceof UnsignedInt32Member) {
+			
+			int[] values = (int[]) array;
+			
+			UnsignedInt32Member out = (UnsignedInt32Member) outValue;
+			
+			IndexedDataSource<UnsignedInt32Member> dest = (IndexedDataSource<UnsignedInt32Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				out.setV(values[arrayOffset + i] & 0xffffffffL);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof IntType && array instanceof int[] && outValue instanceof SignedInt32Member) {
+			
+			int[] values = (int[]) array;
+			
+			SignedInt32Member out = (SignedInt32Member) outValue;
+			
+			IndexedDataSource<SignedInt32Member> dest = (IndexedDataSource<SignedInt32Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				out.setV(values[arrayOffset + i]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof LongType && array instanceof long[] && outValue instanceof SignedInt64Member) {
+			
+			long[] values = (long[]) array;
+			
+			SignedInt64Member out = (SignedInt64Member) outValue;
+			
+			IndexedDataSource<SignedInt64Member> dest = (IndexedDataSource<SignedInt64Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				out.setV(values[arrayOffset + i]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof FloatType && array instanceof float[] && outValue instanceof Float32Member) {
+			
+			float[] values = (float[]) array;
+			
+			Float32Member out = (Float32Member) outValue;
+			
+			IndexedDataSource<Float32Member> dest = (IndexedDataSource<Float32Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				out.setV(values[arrayOffset + i]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof DoubleType && array instanceof double[] && outValue instanceof Float64Member) {
+			
+			double[] values = (double[]) array;
+			
+			Float64Member out = (Float64Member) outValue;
+			
+			IndexedDataSource<Float64Member> dest = (IndexedDataSource<Float64Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				out.setV(values[arrayOffset + i]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		// complex values are stored as interleaved (real, imaginary) pairs so
+		//   array positions run to twice the element count. Work them out as
+		//   longs and refuse ranges that do not fit the array.
+		
+		if (type instanceof ComplexFloatType && array instanceof float[] && outValue instanceof ComplexFloat32Member) {
+			
+			float[] values = (float[]) array;
+			
+			if (2L * ((long) arrayOffset + count) > values.length)
+				return false;
+			
+			ComplexFloat32Member out = (ComplexFloat32Member) outValue;
+			
+			IndexedDataSource<ComplexFloat32Member> dest = (IndexedDataSource<ComplexFloat32Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				long pos = 2L * ((long) arrayOffset + i);
+				
+				out.setR(values[(int) pos]);
+				
+				out.setI(values[(int) pos + 1]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof ComplexDoubleType && array instanceof double[] && outValue instanceof ComplexFloat64Member) {
+			
+			double[] values = (double[]) array;
+			
+			if (2L * ((long) arrayOffset + count) > values.length)
+				return false;
+			
+			ComplexFloat64Member out = (ComplexFloat64Member) outValue;
+			
+			IndexedDataSource<ComplexFloat64Member> dest = (IndexedDataSource<ComplexFloat64Member>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				long pos = 2L * ((long) arrayOffset + i);
+				
+				out.setR(values[(int) pos]);
+				
+				out.setI(values[(int) pos + 1]);
+				
+				dest.set(offset + i, out);
+			}
+			
+			return true;
+		}
+		
+		if (type instanceof ARGBType && array instanceof int[] && outValue instanceof ArgbMember) {
+			
+			int[] values = (int[]) array;
+			
+			ArgbMember out = (ArgbMember) outValue;
+			
+			IndexedDataSource<ArgbMember> dest = (IndexedDataSource<ArgbMember>) raw;
+			
+			for (int i = 0; i < count; i++) {
+				
+				int value = values[arrayOffset + i];
+				
+				out.setA(ARGBType.alpha(value));
+				
+				out.setR(ARGBType.red(value));
+				
+				out.setG(ARGBType.green(value));
+				
+				out.setB(ARGBType.blue(value));
+				
+				dest.set(offset + i, out);
 			}
+			
+			return true;
+		}
+		
+		return false;
+	}
+
+	// Reads and writes can be cancelled by interrupting the thread running
+	//   them. Loops call this between planes (or rows) to stop promptly.
+	
+	static void checkCancelled()
+	{
+		if (Thread.currentThread().isInterrupted())
+			throw new CancellationException("cancelled");
+	}
+
+	// The counterpart of updateMetadata() below for datasets that are read
+	//   straight from a file's metadata without making a SCIFIOImgPlus.
+	
+	static
+	
+		void updateMetadata(Metadata meta, int imageIndex, Location location, DimensionedDataSource<?> output)
+	{
+		ImageMetadata imageMeta = meta.get(imageIndex);
+		
+		List<CalibratedAxis> axes = imageMeta.getAxes();
+		
+		long[] dims = imageMeta.getAxesLengths();
+		
+		BigDecimal[] scales = new BigDecimal[axes.size()];
+		
+		BigDecimal[] offsets = new BigDecimal[axes.size()];
+		
+		output.setName(imageMeta.getName());
+		
+		output.setSource(location.getURI().toString());
+		
+		for (int i = 0; i < axes.size(); i++) {
+			
+			CalibratedAxis axis = axes.get(i);
+			
+			output.setAxisType(i, axis.type().toString());
+			
+			output.setAxisUnit(i, axis.unit());
+			
+			if (dims[i] < 2)
+				scales[i] = BigDecimal.ONE;
+			else
+				scales[i] = BigDecimal.valueOf(axis.averageScale(0, dims[i]-1));
+			
+			offsets[i] = BigDecimal.valueOf(axis.calibratedValue(0));
 		}
+
+		output.setCoordinateSpace(new LinearNdCoordinateSpace(scales, offsets));
+		
+		output.metadata().putString("input-dataset-name", meta.getDatasetName());
+		
+		output.metadata().putLong("input-dataset-size", meta.getDatasetSize());
+		
+		output.metadata().putString("input-format-name", meta.getFormatName());
+		
+		output.metadata().putString("input-identifier", meta.getIdentifier());
+		
+		output.metadata().putString("input-location", meta.getLocation());
+		
+		output.metadata().putString("input-source-location", meta.getSourceLocation().toString());
+		
+		output.metadata().putString("input-version", meta.getVersion());
 	}
 
 	private static
 	
-		void updateMetadata(SCIFIOImgPlus<?> input, DimensionedDataSource<?> output)
+		void updateMetadata(SCIFIOImgPlus<?> input, DimensionedDataSource<?> output, ReadOptions options)
 	{
+		Map<String, long[]> region = options.getRegion();
+		
+		Map<String, long[]> axisIndices = options.getAxisIndices();
+		
 		BigDecimal[] scales = new BigDecimal[input.numDimensions()];
 		
 		BigDecimal[] offsets = new BigDecimal[input.numDimensions()];
@@ -1525,7 +4414,37 @@ public class Scifio {
 			else
 				scales[i] = BigDecimal.valueOf(input.axis(i).averageScale(0, input.dimension(i)-1));
 			
-			offsets[i] = BigDecimal.valueOf(input.axis(i).calibratedValue(0));
+			// a downsampled read spans the same extent with fewer pixels
+			
+			if (i < 2 && input.dimension(i) >= 2 && !options.isZeroCopy())
+				scales[i] = scales[i].multiply(BigDecimal.valueOf(1L << options.getResolutionLevel()));
+			
+			// a cropped read starts at the region's min rather than at 0
+			
+			long[] bounds = region.get(input.axis(i).type().toString());
+			
+			long origin = (bounds == null) ? 0 : bounds[0];
+			
+			// a read of chosen indices starts at the first one. Evenly spaced
+			//   indices keep a linear space by scaling with their spacing.
+			//   Others are recorded since no linear space can place them.
+			
+			long[] indices = axisIndices.get(input.axis(i).type().toString());
+			
+			if (indices != null) {
+				
+				origin = indices[0];
+				
+				long spacing = evenSpacing(indices);
+				
+				if (spacing > 0)
+					scales[i] = scales[i].multiply(BigDecimal.valueOf(spacing));
+				else
+					output.metadata().putString("input-indices-" + input.axis(i).type().toString(),
+							Arrays.stream(indices).mapToObj(Long::toString).collect(Collectors.joining(",")));
+			}
+			
+			offsets[i] = BigDecimal.valueOf(input.axis(i).calibratedValue(origin));
 		}
 
 		output.setCoordinateSpace(new LinearNdCoordinateSpace(scales, offsets));
@@ -1548,5 +4467,24 @@ public class Scifio {
 		
 		output.metadata().putString("input-version", input.getMetadata().getVersion());
 	}
+	
+	// Returns the gap between sorted indices when they are evenly spaced
+	//   (1 for a single index) or 0 when they are not.
+	
+	private static long evenSpacing(long[] indices)
+	{
+		if (indices.length == 1)
+			return 1;
+		
+		long spacing = indices[1] - indices[0];
+		
+		for (int i = 2; i < indices.length; i++) {
+			
+			if (indices[i] - indices[i-1] != spacing)
+				return 0;
+		}
+		
+		return spacing;
+	}
 
 }
@@ -0,0 +1,168 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A description of one image (series) of a file gathered from its metadata
+ * alone. See {@link Scifio#probe(String)}.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class SeriesDescriptor {
+
+	private final int imageIndex;
+	
+	private final String name;
+	
+	private final long[] dims;
+	
+	private final Object type;
+	
+	private final String[] axisTypes;
+	
+	private final String[] axisUnits;
+	
+	private final BigDecimal[] scales;
+	
+	private final BigDecimal[] offsets;
+	
+	private final Map<String, String> metadata;
+	
+	SeriesDescriptor(int imageIndex, String name, long[] dims, Object type,
+						String[] axisTypes, String[] axisUnits,
+						BigDecimal[] scales, BigDecimal[] offsets,
+						Map<String, String> metadata)
+	{
+		this.imageIndex = imageIndex;
+		
+		this.name = name;
+		
+		this.dims = dims;
+		
+		this.type = type;
+		
+		this.axisTypes = axisTypes;
+		
+		this.axisUnits = axisUnits;
+		
+		this.scales = scales;
+		
+		this.offsets = offsets;
+		
+		this.metadata = Collections.unmodifiableMap(metadata);
+	}
+	
+	/**
+	 * Returns the index of this image within its file.
+	 */
+	public int imageIndex() {
+		
+		return imageIndex;
+	}
+	
+	/**
+	 * Returns the name of the image.
+	 */
+	public String name() {
+		
+		return name;
+	}
+	
+	/**
+	 * Returns the dimensions a read dataset would have.
+	 */
+	public long[] dims() {
+		
+		return dims.clone();
+	}
+	
+	/**
+	 * Returns the number of elements a read dataset would hold.
+	 */
+	public long numElements() {
+		
+		long count = 1;
+		
+		for (int i = 0; i < dims.length; i++) {
+			
+			count *= dims[i];
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Returns an instance of the zorbage type (e.g. an UnsignedInt16Member)
+	 * a read dataset would hold or null if the pixel type is not supported.
+	 */
+	public Object type() {
+		
+		return type;
+	}
+	
+	/**
+	 * Returns the axis types a read dataset would record (e.g. "X", "Channel").
+	 */
+	public String[] axisTypes() {
+		
+		return axisTypes.clone();
+	}
+	
+	/**
+	 * Returns the axis units a read dataset would record.
+	 */
+	public String[] axisUnits() {
+		
+		return axisUnits.clone();
+	}
+	
+	/**
+	 * Returns the scales of the coordinate space a read dataset would have.
+	 */
+	public BigDecimal[] scales() {
+		
+		return scales.clone();
+	}
+	
+	/**
+	 * Returns the offsets of the coordinate space a read dataset would have.
+	 */
+	public BigDecimal[] offsets() {
+		
+		return offsets.clone();
+	}
+	
+	/**
+	 * Returns the metadata entries a read dataset would have.
+	 */
+	public Map<String, String> metadata() {
+		
+		return metadata;
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.util.concurrent.ExecutorService;
+
+import io.scif.config.SCIFIOConfig.ImgMode;
+
+/**
+ * Options that control how {@link Scifio} writes datasets.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class WriteOptions {
+
+	private boolean streaming = true;
+	
+	private boolean view = false;
+	
+	private int parallelism = 1;
+	
+	private ExecutorService executor = null;
+	
+	private ImgMode imgMode = ImgMode.AUTO;
+	
+	/**
+	 * 
+	 */
+	public WriteOptions() { }
+	
+	/**
+	 * Make a copy of another set of options.
+	 * 
+	 * @param other
+	 */
+	public WriteOptions(WriteOptions other) {
+		
+		this.streaming = other.streaming;
+		
+		this.view = other.view;
+		
+		this.parallelism = other.parallelism;
+		
+		this.executor = other.executor;
+		
+		this.imgMode = other.imgMode;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isStreaming() {
+		
+		return streaming;
+	}
+	
+	/**
+	 * When true (the default) datasets are converted one plane at a time
+	 * and each plane is handed to the SCIFIO writer before the next one is
+	 * converted, so only one plane is ever held in memory. Datasets whose
+	 * planes cannot be streamed (types with no matching SCIFIO pixel type
+	 * or planes bigger than a Java array) are still written by building a
+	 * whole image first. Streamed images carry each dimension's axis type,
+	 * unit and linear scale and offset into the file's metadata; how much
+	 * of that a format can store depends on the format.
+	 * 
+	 * @param streaming
+	 * @return
+	 */
+	public WriteOptions setStreaming(boolean streaming) {
+		
+		this.streaming = streaming;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isView() {
+		
+		return view;
+	}
+	
+	/**
+	 * When true datasets are handed to SCIFIO's ImgSaver as a live imglib2
+	 * view (see {@link Scifio#imgView}) that converts values as they are
+	 * read, so no intermediate image or plane is allocated at all. Takes
+	 * precedence over streaming. The parallelism and img mode settings do
+	 * not apply to views.
+	 * 
+	 * @param view
+	 * @return
+	 */
+	public WriteOptions setView(boolean view) {
+		
+		this.view = view;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public int getParallelism() {
+		
+		return parallelism;
+	}
+	
+	/**
+	 * Set the number of tasks that convert values into the output image
+	 * concurrently. Streamed writes split each plane between the tasks and
+	 * other writes split the cells of the image. 1 (the default) converts
+	 * on the calling thread.
+	 * 
+	 * @param numTasks
+	 * @return
+	 */
+	public WriteOptions setParallelism(int numTasks) {
+		
+		if (numTasks < 1)
+			throw new IllegalArgumentException("parallelism must be > 0");
+		
+		this.parallelism = numTasks;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public ExecutorService getExecutor() {
+		
+		return executor;
+	}
+	
+	/**
+	 * Set the executor that runs the conversion tasks when parallelism is
+	 * greater than 1. When null the common ForkJoinPool is used.
+	 * 
+	 * @param executor
+	 * @return
+	 */
+	public WriteOptions setExecutor(ExecutorService executor) {
+		
+		this.executor = executor;
+		
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public ImgMode getImgMode() {
+		
+		return imgMode;
+	}
+	
+	/**
+	 * Set the kind of imglib2 image that data is copied into when it is not
+	 * streamed. AUTO (the default) picks an ArrayImg when all the values fit
+	 * in one Java array, a PlanarImg when each plane does and a CellImg
+	 * otherwise. Asking for an ArrayImg or PlanarImg that the data does not
+	 * fit in makes the write fail.
+	 * 
+	 * @param mode
+	 * @return
+	 */
+	public WriteOptions setImgMode(ImgMode mode) {
+		
+		if (mode == null)
+			throw new IllegalArgumentException("img mode must not be null");
+		
+		this.imgMode = mode;
+		
+		return this;
+	}
+}
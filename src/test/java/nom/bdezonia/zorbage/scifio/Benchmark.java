@@ -0,0 +1,192 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import io.scif.config.SCIFIOConfig.ImgMode;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * Throughput benchmarks for reading and writing. Pass the name of a large
+ * multi-plane file as the first argument. Run it from the test classpath,
+ * for example with
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=nom.bdezonia.zorbage.scifio.Benchmark -Dexec.args=file.tif
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class Benchmark {
+
+	public static void main(String[] args)
+	{
+		String filename = args[0];
+		
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		
+		benchmarkParallelReads(filename, maxThreads);
+		
+		benchmarkParallelWrites(new int[] {1, 4, 16, 64});
+		
+		benchmarkImgModes();
+	}
+	
+	private static void benchmarkParallelReads(String filename, int maxThreads)
+	{
+		// warm up the jit and the file cache
+		
+		Scifio.readAllDatasets(filename);
+		
+		long serialTime = 0;
+		
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			
+			ReadOptions options = new ReadOptions().setParallelism(threads).setExecutor(pool);
+			
+			long start = System.nanoTime();
+			
+			Scifio.readAllDatasets(filename, options);
+			
+			long elapsed = System.nanoTime() - start;
+			
+			pool.shutdown();
+			
+			if (threads == 1)
+				serialTime = elapsed;
+			
+			System.out.println("read: threads " + threads + " time " + (elapsed / 1000000) + " ms speedup " + ((double) serialTime / elapsed));
+		}
+	}
+	
+	private static void benchmarkParallelWrites(int[] threadCounts)
+	{
+		DimensionedDataSource<Float32Member> data = syntheticData(new long[] {2048, 2048, 32});
+		
+		File file = tempFile();
+		
+		for (boolean streaming : new boolean[] {true, false}) {
+			
+			// warm up the jit and the file cache
+			
+			Scifio.writeAs(file.getPath(), G.FLT, data, new WriteOptions().setStreaming(streaming));
+			
+			long serialTime = 0;
+			
+			for (int threads : threadCounts) {
+				
+				ForkJoinPool pool = new ForkJoinPool(threads);
+				
+				WriteOptions options = new WriteOptions().setStreaming(streaming).setParallelism(threads).setExecutor(pool);
+				
+				long start = System.nanoTime();
+				
+				Scifio.writeAs(file.getPath(), G.FLT, data, options);
+				
+				long elapsed = System.nanoTime() - start;
+				
+				pool.shutdown();
+				
+				if (threads == 1)
+					serialTime = elapsed;
+				
+				System.out.println("write (" + (streaming ? "streamed" : "cell image") + "): threads " + threads + " time " + (elapsed / 1000000) + " ms speedup " + ((double) serialTime / elapsed));
+			}
+		}
+	}
+	
+	private static DimensionedDataSource<Float32Member> syntheticData(long[] dims)
+	{
+		DimensionedDataSource<Float32Member> data = DimensionedStorage.allocate(G.FLT.construct(), dims);
+		
+		Float32Member value = G.FLT.construct();
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			value.setV(i % 4096);
+			
+			data.rawData().set(i, value);
+		}
+		
+		return data;
+	}
+	
+	private static void benchmarkImgModes()
+	{
+		long[][] sizes = new long[][] {{256, 256}, {1024, 1024}, {4096, 4096}, {1024, 1024, 64}};
+		
+		ImgMode[] modes = new ImgMode[] {ImgMode.ARRAY, ImgMode.PLANAR, ImgMode.CELL};
+		
+		File file = tempFile();
+		
+		for (long[] dims : sizes) {
+			
+			DimensionedDataSource<Float32Member> data = syntheticData(dims);
+			
+			// warm up the jit and the file cache
+			
+			Scifio.writeAs(file.getPath(), G.FLT, data, new WriteOptions().setStreaming(false));
+			
+			for (ImgMode mode : modes) {
+				
+				WriteOptions options = new WriteOptions().setStreaming(false).setImgMode(mode);
+				
+				long start = System.nanoTime();
+				
+				Scifio.writeAs(file.getPath(), G.FLT, data, options);
+				
+				long elapsed = System.nanoTime() - start;
+				
+				System.out.println("write (" + mode + "): dims " + Arrays.toString(dims) + " time " + (elapsed / 1000000) + " ms");
+			}
+		}
+	}
+	
+	private static File tempFile()
+	{
+		File file;
+		
+		try {
+			
+			file = File.createTempFile("benchmark", ".tif");
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("cannot create a temp file", e);
+		}
+		
+		file.deleteOnExit();
+		
+		return file;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.misc.DataBundle;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestAsync {
+
+	private static File file;
+	
+	private ExecutorService executor;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	@Before
+	public void makeExecutor() {
+		
+		executor = Executors.newSingleThreadExecutor();
+	}
+	
+	@After
+	public void stopExecutor() {
+		
+		executor.shutdownNow();
+	}
+	
+	@Test
+	public void testRead() throws Exception {
+		
+		DataBundle bundle = Scifio.readAllDatasetsAsync(file.getPath(), new ReadOptions(), executor).get();
+		
+		TestData.check(bundle.flts.get(0), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testWrite() throws Exception {
+		
+		File out = File.createTempFile("async", ".tif");
+		
+		out.deleteOnExit();
+		
+		assertTrue(Scifio.writeAsAsync(out.getPath(), G.FLT, TestData.indexedData(), executor).get());
+		
+		TestData.check(Scifio.readAllDatasets(out.getPath()).flts.get(0), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test(expected = CancellationException.class)
+	public void testCancelBeforeStart() throws Exception {
+		
+		CountDownLatch release = new CountDownLatch(1);
+		
+		// keep the only thread busy so the read is still queued when cancelled
+		
+		executor.execute(() -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		
+		CompletableFuture<DataBundle> future = Scifio.readAllDatasetsAsync(file.getPath(), new ReadOptions(), executor);
+		
+		assertTrue(future.cancel(true));
+		
+		release.countDown();
+		
+		future.get();
+	}
+	
+	@Test
+	public void testCancelInterruptsTask() throws Exception {
+		
+		CountDownLatch started = new CountDownLatch(1);
+		
+		// stands in for a copy loop, which checks for cancellation the same way
+		
+		CompletableFuture<Object> future = InterruptibleFuture.supply(() -> {
+			started.countDown();
+			while (true) {
+				Scifio.checkCancelled();
+			}
+		}, executor);
+		
+		started.await();
+		
+		assertTrue(future.cancel(true));
+		
+		assertTrue(future.isCancelled());
+		
+		// the pooled thread must not keep the interrupt meant for the task
+		
+		boolean interrupted = CompletableFuture.supplyAsync(() -> Thread.currentThread().isInterrupted(), executor).get();
+		
+		assertFalse(interrupted);
+	}
+}
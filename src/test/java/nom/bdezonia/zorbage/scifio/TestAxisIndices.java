@@ -0,0 +1,90 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestAxisIndices {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(ReadOptions options) {
+		
+		return Scifio.readAllDatasets(file.getPath(), options).flts.get(0);
+	}
+	
+	@Test
+	public void testEvenlySpaced() {
+		
+		String axis = read(new ReadOptions()).getAxisType(2);
+		
+		DimensionedDataSource<Float32Member> data = read(new ReadOptions().setAxisIndices(axis, 1, 3));
+		
+		TestData.check(data, new long[] {X, Y, 2}, (x, y, z) -> TestData.value(x, y, 1 + 2*z));
+		
+		TestData.checkSpace(data, 2, 2, 1);
+	}
+	
+	@Test
+	public void testUnevenlySpaced() {
+		
+		String axis = read(new ReadOptions()).getAxisType(2);
+		
+		DimensionedDataSource<Float32Member> data = read(new ReadOptions().setAxisIndices(axis, 4, 0, 1));
+		
+		long[] planes = new long[] {0, 1, 4};
+		
+		TestData.check(data, new long[] {X, Y, 3}, (x, y, z) -> TestData.value(x, y, planes[(int) z]));
+		
+		assertEquals("0,1,4", data.metadata().getString("input-indices-" + axis));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testXRejected() {
+		
+		new ReadOptions().setAxisIndices("X", 1);
+	}
+}
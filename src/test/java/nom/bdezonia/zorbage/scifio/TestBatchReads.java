@@ -0,0 +1,157 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestBatchReads {
+
+	private static File file;
+	
+	private static File missing;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+		
+		missing = new File(file.getPath() + ".missing.tif");
+	}
+	
+	@Test
+	public void testBadFileIsIsolated() {
+		
+		List<BatchResult> results = Scifio.readBatch(Arrays.asList(file.getPath(), missing.getPath(), file.getPath()));
+		
+		assertEquals(3, results.size());
+		
+		for (int i = 0; i < 3; i++) {
+			
+			assertEquals(i, results.get(i).index());
+		}
+		
+		assertTrue(results.get(0).succeeded());
+		
+		assertFalse(results.get(1).succeeded());
+		
+		assertNotNull(results.get(1).error());
+		
+		assertNull(results.get(1).bundle());
+		
+		assertTrue(results.get(2).succeeded());
+		
+		TestData.check(results.get(2).bundle().flts.get(0), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testThrowingCallbackIsIsolated() {
+		
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		
+		try {
+			
+			List<BatchResult> results = Scifio.readBatch(Arrays.asList(file.getPath(), file.getPath()), pool, new ReadOptions(),
+					result -> {
+						if (result.index() == 0)
+							throw new IllegalStateException("callback failed");
+					});
+			
+			assertFalse(results.get(0).succeeded());
+			
+			assertTrue(results.get(0).error() instanceof IllegalStateException);
+			
+			// the read itself went fine so its data is kept
+			
+			assertNotNull(results.get(0).bundle());
+			
+			assertTrue(results.get(1).succeeded());
+		}
+		finally {
+			
+			pool.shutdown();
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSharedExecutorRejected() {
+		
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		
+		try {
+			
+			Scifio.readBatch(Arrays.asList(file.getPath()), pool, new ReadOptions().setParallelism(2).setExecutor(pool), null);
+		}
+		finally {
+			
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testSharedForkJoinPool() {
+		
+		ForkJoinPool pool = new ForkJoinPool(2);
+		
+		try {
+			
+			ReadOptions options = new ReadOptions().setParallelism(2).setExecutor(pool);
+			
+			List<BatchResult> results = Scifio.readBatch(Arrays.asList(file.getPath(), file.getPath(), file.getPath()), pool, options, null);
+			
+			for (BatchResult result : results) {
+				
+				assertTrue(result.succeeded());
+				
+				TestData.check(result.bundle().flts.get(0), new long[] {X, Y, Z}, TestData::value);
+			}
+		}
+		finally {
+			
+			pool.shutdown();
+		}
+	}
+}
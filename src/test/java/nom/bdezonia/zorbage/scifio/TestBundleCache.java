@@ -0,0 +1,162 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.scijava.io.location.FileLocation;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.misc.DataBundle;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestBundleCache {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	@After
+	public void removeCache() {
+		
+		Scifio.setBundleCache(null);
+	}
+	
+	private static DataBundle indexedBundle() {
+		
+		DataBundle bundle = new DataBundle();
+		
+		bundle.mergeFlt32(TestData.indexedData());
+		
+		return bundle;
+	}
+	
+	@Test
+	public void testReadsShareOneDecode() {
+		
+		BundleCache cache = new BundleCache(Long.MAX_VALUE);
+		
+		Scifio.setBundleCache(cache);
+		
+		DataBundle first = Scifio.readAllDatasets(file.getPath());
+		
+		DataBundle second = Scifio.readAllDatasets(file.getPath());
+		
+		assertEquals(1, cache.getMisses());
+		
+		assertEquals(1, cache.getHits());
+		
+		assertNotSame(first, second);
+		
+		TestData.check(second.flts.get(0), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void testCachedDatasetsAreReadOnly() {
+		
+		Scifio.setBundleCache(new BundleCache(Long.MAX_VALUE));
+		
+		DimensionedDataSource<Float32Member> data = Scifio.readAllDatasets(file.getPath()).flts.get(0);
+		
+		data.rawData().set(0, G.FLT.construct());
+	}
+	
+	@Test
+	public void testOptionsArePartOfTheKey() {
+		
+		FileLocation location = new FileLocation(file);
+		
+		String key = BundleCache.key(location, new ReadOptions());
+		
+		assertEquals(key, BundleCache.key(location, new ReadOptions().setParallelism(4)));
+		
+		assertNotEquals(key, BundleCache.key(location, new ReadOptions().setTiled(true)));
+		
+		assertNotEquals(key, BundleCache.key(location, new ReadOptions().setFileBackedThreshold(1000)));
+		
+		BundleCache cache = new BundleCache(Long.MAX_VALUE);
+		
+		Scifio.setBundleCache(cache);
+		
+		Scifio.readAllDatasets(file.getPath(), new ReadOptions());
+		
+		Scifio.readAllDatasets(file.getPath(), new ReadOptions().setTiled(true));
+		
+		assertEquals(2, cache.getMisses());
+		
+		assertEquals(2, cache.getCount());
+	}
+	
+	@Test
+	public void testWarningsReachEveryCaller() {
+		
+		BundleCache cache = new BundleCache(Long.MAX_VALUE);
+		
+		List<String> first = new ArrayList<>();
+		
+		List<String> second = new ArrayList<>();
+		
+		cache.get("key", first::add, handler -> {
+			
+			handler.accept("something was skipped");
+			
+			return indexedBundle();
+		});
+		
+		DataBundle bundle = cache.get("key", second::add, handler -> {
+			
+			throw new IllegalStateException("a cached key must not be loaded again");
+		});
+		
+		assertEquals(Arrays.asList("something was skipped"), first);
+		
+		assertEquals(first, second);
+		
+		TestData.check(bundle.flts.get(0), new long[] {X, Y, Z}, TestData::value);
+	}
+}
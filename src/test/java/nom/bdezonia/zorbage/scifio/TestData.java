@@ -0,0 +1,193 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.coordinates.LinearNdCoordinateSpace;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.misc.DataBundle;
+import nom.bdezonia.zorbage.sampling.IntegerIndex;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * Builds the test files that the read tests share and checks what they read.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+class TestData {
+
+	static final long X = 64;
+	
+	static final long Y = 48;
+	
+	static final long Z = 5;
+	
+	// the plane counts of the images of multiImageFile()
+	
+	static final long[] PLANES = {2, 3, 4};
+	
+	private TestData() { }
+	
+	interface Expected {
+		
+		float value(long x, long y, long z);
+	}
+	
+	// every pixel holds a value that tells where it came from
+	
+	static float value(long x, long y, long z) {
+		
+		return x + X * y + 4000 * z;
+	}
+	
+	/**
+	 * Returns a dataset of X by Y by Z 32 bit floats that each hold
+	 * value(x, y, z).
+	 */
+	static DimensionedDataSource<Float32Member> indexedData() {
+		
+		return indexedData(Z);
+	}
+	
+	/**
+	 * Returns a dataset of X by Y by planes 32 bit floats that each hold
+	 * value(x, y, z).
+	 */
+	static DimensionedDataSource<Float32Member> indexedData(long planes) {
+		
+		DimensionedDataSource<Float32Member> data = DimensionedStorage.allocate(G.FLT.construct(), new long[] {X, Y, planes});
+		
+		data.setAxisType(0, "X");
+		
+		data.setAxisType(1, "Y");
+		
+		data.setAxisType(2, "Z");
+		
+		Float32Member v = G.FLT.construct();
+		
+		IntegerIndex idx = new IntegerIndex(3);
+		
+		for (long z = 0; z < planes; z++) {
+			idx.set(2, z);
+			for (long y = 0; y < Y; y++) {
+				idx.set(1, y);
+				for (long x = 0; x < X; x++) {
+					idx.set(0, x);
+					v.setV(value(x, y, z));
+					data.set(idx, v);
+				}
+			}
+		}
+		
+		return data;
+	}
+	
+	/**
+	 * Writes indexedData() to a new temporary tif file.
+	 */
+	static File indexedFile() throws IOException {
+		
+		return indexedFile(Z);
+	}
+	
+	/**
+	 * Writes indexedData(planes) to a new temporary tif file.
+	 */
+	static File indexedFile(long planes) throws IOException {
+		
+		File file = File.createTempFile("indexed", ".tif");
+		
+		file.deleteOnExit();
+		
+		assertTrue(Scifio.writeAs(file.getPath(), G.FLT, indexedData(planes)));
+		
+		return file;
+	}
+	
+	/**
+	 * Writes one indexedData(planes) image per entry of PLANES to a new
+	 * temporary OME-TIFF file.
+	 */
+	static File multiImageFile() throws IOException {
+		
+		File file = File.createTempFile("images", ".ome.tif");
+		
+		file.deleteOnExit();
+		
+		DataBundle bundle = new DataBundle();
+		
+		for (long planes : PLANES) {
+			
+			bundle.mergeFlt32(indexedData(planes));
+		}
+		
+		assertEquals(PLANES.length, Scifio.writeBundle(file.getPath(), bundle));
+		
+		return file;
+	}
+	
+	static void check(DimensionedDataSource<Float32Member> data, long[] dims, Expected expected) {
+		
+		assertEquals(dims.length, data.numDimensions());
+		
+		for (int i = 0; i < dims.length; i++) {
+			
+			assertEquals(dims[i], data.dimension(i));
+		}
+		
+		Float32Member v = G.FLT.construct();
+		
+		IntegerIndex idx = new IntegerIndex(3);
+		
+		for (long z = 0; z < dims[2]; z++) {
+			idx.set(2, z);
+			for (long y = 0; y < dims[1]; y++) {
+				idx.set(1, y);
+				for (long x = 0; x < dims[0]; x++) {
+					idx.set(0, x);
+					data.get(idx, v);
+					assertEquals(expected.value(x, y, z), v.v(), 0);
+				}
+			}
+		}
+	}
+	
+	static void checkSpace(DimensionedDataSource<?> data, int axis, double scale, double offset) {
+		
+		LinearNdCoordinateSpace space = (LinearNdCoordinateSpace) data.getCoordinateSpace();
+		
+		assertEquals(0, space.getScale(axis).compareTo(BigDecimal.valueOf(scale)));
+		
+		assertEquals(0, space.getOffset(axis).compareTo(BigDecimal.valueOf(offset)));
+	}
+}
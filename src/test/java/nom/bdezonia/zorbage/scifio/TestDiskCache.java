@@ -0,0 +1,214 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+import org.scijava.io.location.URILocation;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.coordinates.LinearNdCoordinateSpace;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.misc.DataBundle;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestDiskCache {
+
+	private File file;
+	
+	private File directory;
+	
+	private DiskCache cache;
+	
+	@Before
+	public void setUp() throws IOException {
+		
+		file = File.createTempFile("cached", ".tif");
+		
+		DimensionedDataSource<Float32Member> data = DimensionedStorage.allocate(G.FLT.construct(), new long[] {40, 30, 3});
+		
+		Float32Member v = G.FLT.construct();
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			v.setV(i * 0.5f - 100);
+			
+			data.rawData().set(i, v);
+		}
+		
+		assertTrue(Scifio.writeAs(file.getPath(), G.FLT, data));
+		
+		directory = Files.createTempDirectory("cache").toFile();
+		
+		cache = new DiskCache(directory, 1L << 30);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		cache.clear();
+		
+		directory.delete();
+		
+		file.delete();
+	}
+	
+	@Test
+	public void testRoundTrip() throws IOException {
+		
+		Location location = new FileLocation(file);
+		
+		DataBundle bundle = Scifio.readAllDatasets(file.getPath());
+		
+		String key = DiskCache.key(location);
+		
+		assertNotNull(key);
+		
+		assertNull(cache.load(key, location, new ReadOptions()));
+		
+		cache.store(key, bundle);
+		
+		DataBundle loaded = cache.load(key, location, new ReadOptions());
+		
+		assertNotNull(loaded);
+		
+		assertEquals(bundle.flts.size(), loaded.flts.size());
+		
+		DimensionedDataSource<Float32Member> expected = bundle.flts.get(0);
+		
+		DimensionedDataSource<Float32Member> actual = loaded.flts.get(0);
+		
+		assertEquals(expected.numDimensions(), actual.numDimensions());
+		
+		for (int i = 0; i < expected.numDimensions(); i++) {
+			
+			assertEquals(expected.dimension(i), actual.dimension(i));
+			
+			assertEquals(expected.getAxisType(i), actual.getAxisType(i));
+			
+			assertEquals(expected.getAxisUnit(i), actual.getAxisUnit(i));
+			
+			LinearNdCoordinateSpace expectedSpace = (LinearNdCoordinateSpace) expected.getCoordinateSpace();
+			
+			LinearNdCoordinateSpace actualSpace = (LinearNdCoordinateSpace) actual.getCoordinateSpace();
+			
+			assertEquals(0, expectedSpace.getScale(i).compareTo(actualSpace.getScale(i)));
+			
+			assertEquals(0, expectedSpace.getOffset(i).compareTo(actualSpace.getOffset(i)));
+		}
+		
+		assertEquals(expected.getName(), actual.getName());
+		
+		assertEquals(expected.getSource(), actual.getSource());
+		
+		assertEquals(expected.metadata().getString("input-format-name"), actual.metadata().getString("input-format-name"));
+		
+		Float32Member a = G.FLT.construct();
+		
+		Float32Member b = G.FLT.construct();
+		
+		for (long i = 0; i < expected.rawData().size(); i++) {
+			
+			expected.rawData().get(i, a);
+			
+			actual.rawData().get(i, b);
+			
+			assertEquals(a.v(), b.v(), 0);
+		}
+	}
+	
+	@Test
+	public void testReadThroughCache() {
+		
+		ReadOptions options = new ReadOptions().setDiskCache(cache);
+		
+		DataBundle first = Scifio.readAllDatasets(file.getPath(), options);
+		
+		assertEquals(1, directory.listFiles((dir, name) -> name.endsWith(".zsc")).length);
+		
+		DataBundle second = Scifio.readAllDatasets(file.getPath(), options);
+		
+		Float32Member a = G.FLT.construct();
+		
+		Float32Member b = G.FLT.construct();
+		
+		for (long i = 0; i < first.flts.get(0).rawData().size(); i++) {
+			
+			first.flts.get(0).rawData().get(i, a);
+			
+			second.flts.get(0).rawData().get(i, b);
+			
+			assertEquals(a.v(), b.v(), 0);
+		}
+	}
+	
+	@Test
+	public void testChangedFileChangesKey() {
+		
+		Location location = new FileLocation(file);
+		
+		String key = DiskCache.key(location);
+		
+		assertTrue(file.setLastModified(file.lastModified() + 10000));
+		
+		assertNotEquals(key, DiskCache.key(location));
+	}
+	
+	@Test
+	public void testFileUriKey() {
+		
+		assertEquals(DiskCache.key(new FileLocation(file)), DiskCache.key(new URILocation(file.toURI())));
+		
+		ReadOptions options = new ReadOptions().setDiskCache(cache);
+		
+		Scifio.readAllDatasets(file.toURI(), options);
+		
+		assertEquals(1, directory.listFiles((dir, name) -> name.endsWith(".zsc")).length);
+		
+		DataBundle cached = Scifio.readAllDatasets(file.getPath(), options);
+		
+		assertEquals(1, directory.listFiles((dir, name) -> name.endsWith(".zsc")).length);
+		
+		assertNotNull(cached.flts.get(0));
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.storage.StorageConstruction;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestFileBackedReads {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(ReadOptions options) {
+		
+		return Scifio.readAllDatasets(file.getPath(), options).flts.get(0);
+	}
+	
+	@Test
+	public void testFileBacked() {
+		
+		TestData.check(read(new ReadOptions().setFileBacked(true)), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testFileBackedTiled() {
+		
+		TestData.check(read(new ReadOptions().setFileBacked(true).setTiled(true)), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testThreshold() {
+		
+		DimensionedDataSource<Float32Member> data = read(new ReadOptions().setFileBackedThreshold(0));
+		
+		assertEquals(StorageConstruction.MEM_VIRTUAL, data.rawData().storageType());
+		
+		TestData.check(data, new long[] {X, Y, Z}, TestData::value);
+	}
+}
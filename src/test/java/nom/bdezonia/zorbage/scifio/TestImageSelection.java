@@ -0,0 +1,89 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.PLANES;
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.misc.DataBundle;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestImageSelection {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.multiImageFile();
+	}
+	
+	@Test
+	public void testOneImage() {
+		
+		DataBundle bundle = Scifio.readDataset(file.getPath(), 1);
+		
+		assertEquals(1, bundle.flts.size());
+		
+		TestData.check(bundle.flts.get(0), new long[] {X, Y, PLANES[1]}, TestData::value);
+	}
+	
+	@Test
+	public void testOneImageOfUri() {
+		
+		DataBundle bundle = Scifio.readDataset(file.toURI(), 2);
+		
+		assertEquals(1, bundle.flts.size());
+		
+		TestData.check(bundle.flts.get(0), new long[] {X, Y, PLANES[2]}, TestData::value);
+	}
+	
+	@Test
+	public void testSomeImages() {
+		
+		DataBundle bundle = Scifio.readDatasets(file.getPath(), new HashSet<>(Arrays.asList(2, 0)));
+		
+		// images come back in file order whatever order they were asked for in
+		
+		assertEquals(2, bundle.flts.size());
+		
+		TestData.check(bundle.flts.get(0), new long[] {X, Y, PLANES[0]}, TestData::value);
+		
+		TestData.check(bundle.flts.get(1), new long[] {X, Y, PLANES[2]}, TestData::value);
+	}
+}
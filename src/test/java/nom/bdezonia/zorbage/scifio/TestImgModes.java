@@ -0,0 +1,115 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import io.scif.config.SCIFIOConfig.ImgMode;
+import net.imglib2.type.numeric.real.FloatType;
+import nom.bdezonia.zorbage.algebra.G;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestImgModes {
+
+	private static final FloatType FLOAT = new FloatType();
+	
+	private static void roundTrip(ImgMode mode) throws IOException {
+		
+		File file = File.createTempFile("modes", ".tif");
+		
+		try {
+			
+			WriteOptions options = new WriteOptions().setStreaming(false).setImgMode(mode);
+			
+			assertTrue(Scifio.writeAs(file.getPath(), G.FLT, TestData.indexedData(), options));
+			
+			TestData.check(Scifio.readAllDatasets(file.getPath()).flts.get(0), new long[] {X, Y, Z}, TestData::value);
+		}
+		finally {
+			
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testAuto() throws IOException {
+		
+		roundTrip(ImgMode.AUTO);
+	}
+	
+	@Test
+	public void testArray() throws IOException {
+		
+		roundTrip(ImgMode.ARRAY);
+	}
+	
+	@Test
+	public void testPlanar() throws IOException {
+		
+		roundTrip(ImgMode.PLANAR);
+	}
+	
+	@Test
+	public void testCell() throws IOException {
+		
+		roundTrip(ImgMode.CELL);
+	}
+	
+	@Test
+	public void testAutoChoice() {
+		
+		assertEquals(ImgMode.ARRAY, Scifio.imgMode(ImgMode.AUTO, new long[] {512, 512, 10}, FLOAT));
+		
+		// each plane fits in one array but all of them do not
+		
+		assertEquals(ImgMode.PLANAR, Scifio.imgMode(ImgMode.AUTO, new long[] {40000, 40000, 3}, FLOAT));
+		
+		assertEquals(ImgMode.CELL, Scifio.imgMode(ImgMode.AUTO, new long[] {100000, 100000}, FLOAT));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testArrayTooBig() {
+		
+		Scifio.imgMode(ImgMode.ARRAY, new long[] {40000, 40000, 3}, FLOAT);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testPlanesTooBig() {
+		
+		Scifio.imgMode(ImgMode.PLANAR, new long[] {100000, 100000}, FLOAT);
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccess;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.real.FloatType;
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestImgView {
+
+	@Test
+	public void testValues() {
+		
+		Img<FloatType> img = Scifio.imgView(G.FLT, TestData.indexedData());
+		
+		assertEquals(3, img.numDimensions());
+		
+		assertEquals(X, img.dimension(0));
+		
+		assertEquals(Y, img.dimension(1));
+		
+		assertEquals(Z, img.dimension(2));
+		
+		Cursor<FloatType> cursor = img.localizingCursor();
+		
+		long[] pos = new long[3];
+		
+		long count = 0;
+		
+		while (cursor.hasNext()) {
+			
+			float value = cursor.next().get();
+			
+			cursor.localize(pos);
+			
+			assertEquals(TestData.value(pos[0], pos[1], pos[2]), value, 0);
+			
+			count++;
+		}
+		
+		assertEquals(X * Y * Z, count);
+	}
+	
+	@Test
+	public void testLive() {
+		
+		DimensionedDataSource<Float32Member> data = TestData.indexedData();
+		
+		Img<FloatType> img = Scifio.imgView(G.FLT, data);
+		
+		RandomAccess<FloatType> access = img.randomAccess();
+		
+		access.setPosition(new long[] {3, 2, 1});
+		
+		// later changes to the data show through the view
+		
+		Float32Member v = G.FLT.construct();
+		
+		v.setV(-7);
+		
+		data.rawData().set(3 + X * 2 + X * Y, v);
+		
+		assertEquals(-7, access.get().get(), 0);
+		
+		// but changes to a fetched value do not reach the data
+		
+		access.get().set(99);
+		
+		data.rawData().get(3 + X * 2 + X * Y, v);
+		
+		assertEquals(-7, v.v(), 0);
+	}
+	
+	@Test
+	public void testWriteView() throws IOException {
+		
+		File file = File.createTempFile("view", ".tif");
+		
+		try {
+			
+			assertTrue(Scifio.writeAs(file.getPath(), G.FLT, TestData.indexedData(), new WriteOptions().setView(true)));
+			
+			TestData.check(Scifio.readAllDatasets(file.getPath()).flts.get(0), new long[] {X, Y, Z}, TestData::value);
+		}
+		finally {
+			
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestMappedReads {
+
+	private static final long MANY = 40;
+	
+	private static File file;
+	
+	private static File manyPlanes;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+		
+		manyPlanes = TestData.indexedFile(MANY);
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(File f, ReadOptions options) {
+		
+		return Scifio.readAllDatasets(f.getPath(), options).flts.get(0);
+	}
+	
+	@Test
+	public void testMapped() {
+		
+		TestData.check(read(file, new ReadOptions().setMemoryMapped(true)), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	// every plane shares one mapped window so each must be found at its own offset
+	
+	@Test
+	public void testManyPlanesMapped() {
+		
+		TestData.check(read(manyPlanes, new ReadOptions().setMemoryMapped(true)), new long[] {X, Y, MANY}, TestData::value);
+	}
+	
+	@Test
+	public void testMappedFileBacked() {
+		
+		ReadOptions options = new ReadOptions().setMemoryMapped(true).setFileBacked(true);
+		
+		TestData.check(read(manyPlanes, options), new long[] {X, Y, MANY}, TestData::value);
+	}
+}
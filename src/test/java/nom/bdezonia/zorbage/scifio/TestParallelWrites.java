@@ -0,0 +1,143 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.scif.config.SCIFIOConfig.ImgMode;
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.type.integer.int1.UnsignedInt1Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestParallelWrites {
+
+	private ForkJoinPool pool;
+	
+	private File file;
+	
+	@Before
+	public void setUp() throws IOException {
+		
+		pool = new ForkJoinPool(4);
+		
+		file = File.createTempFile("parallel", ".tif");
+	}
+	
+	@After
+	public void tearDown() {
+		
+		pool.shutdown();
+		
+		file.delete();
+	}
+	
+	private WriteOptions options() {
+		
+		return new WriteOptions().setParallelism(4).setExecutor(pool);
+	}
+	
+	private void roundTrip(WriteOptions options) {
+		
+		assertTrue(Scifio.writeAs(file.getPath(), G.FLT, TestData.indexedData(), options));
+		
+		TestData.check(Scifio.readAllDatasets(file.getPath()).flts.get(0), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testArray() {
+		
+		roundTrip(options().setStreaming(false).setImgMode(ImgMode.ARRAY));
+	}
+	
+	@Test
+	public void testPlanar() {
+		
+		roundTrip(options().setStreaming(false).setImgMode(ImgMode.PLANAR));
+	}
+	
+	@Test
+	public void testCell() {
+		
+		roundTrip(options().setStreaming(false).setImgMode(ImgMode.CELL));
+	}
+	
+	@Test
+	public void testStreamed() {
+		
+		roundTrip(options().setStreaming(true));
+	}
+	
+	@Test
+	public void testMoreTasksThanUnits() {
+		
+		roundTrip(new WriteOptions().setParallelism(64).setStreaming(false));
+	}
+	
+	// bits are packed 64 to a long so tasks must split on long boundaries.
+	//   The size is not a multiple of 64 so the last task gets a partial long.
+	
+	@Test
+	public void testBits() {
+		
+		DimensionedDataSource<UnsignedInt1Member> data = DimensionedStorage.allocate(G.UINT1.construct(), new long[] {37, 11, 2});
+		
+		UnsignedInt1Member value = G.UINT1.construct();
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			value.setV((int) ((i / 3) % 2));
+			
+			data.rawData().set(i, value);
+		}
+		
+		assertTrue(Scifio.writeAs(file.getPath(), G.UINT1, data, options().setStreaming(false).setImgMode(ImgMode.ARRAY)));
+		
+		DimensionedDataSource<UnsignedInt1Member> read = Scifio.readAllDatasets(file.getPath()).uint1s.get(0);
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			read.rawData().get(i, value);
+			
+			assertEquals((i / 3) % 2, value.v());
+		}
+	}
+}
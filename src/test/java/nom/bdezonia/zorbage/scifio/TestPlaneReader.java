@@ -0,0 +1,116 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestPlaneReader {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	private static void checkPlane(DimensionedDataSource<Float32Member> plane, long z) {
+		
+		assertEquals(2, plane.numDimensions());
+		
+		assertEquals(X, plane.dimension(0));
+		
+		assertEquals(Y, plane.dimension(1));
+		
+		Float32Member v = G.FLT.construct();
+		
+		for (long y = 0; y < Y; y++) {
+			for (long x = 0; x < X; x++) {
+				plane.rawData().get(x + X * y, v);
+				assertEquals(TestData.value(x, y, z), v.v(), 0);
+			}
+		}
+	}
+	
+	@Test
+	public void testReadPlanes() {
+		
+		try (PlaneReader<Float32Member> planes = Scifio.openPlanes(file.getPath(), 0)) {
+			
+			assertEquals(Z, planes.planeCount());
+			
+			assertTrue(planes.type() instanceof Float32Member);
+			
+			DimensionedDataSource<Float32Member> first = planes.readPlane(0);
+			
+			checkPlane(first, 0);
+			
+			// later reads reuse both the SCIFIO plane and the buffer
+			
+			for (long z = Z - 1; z > 0; z--) {
+				
+				DimensionedDataSource<Float32Member> plane = planes.readPlane(z);
+				
+				assertSame(first, plane);
+				
+				checkPlane(plane, z);
+			}
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testPlaneOutOfBounds() {
+		
+		try (PlaneReader<Float32Member> planes = Scifio.openPlanes(file.getPath(), 0)) {
+			
+			planes.readPlane(Z);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testImageOutOfBounds() {
+		
+		Scifio.openPlanes(file.getPath(), 1);
+	}
+}
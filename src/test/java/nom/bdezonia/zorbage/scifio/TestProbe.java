@@ -0,0 +1,112 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.PLANES;
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestProbe {
+
+	private static File file;
+	
+	private static File images;
+	
+	@BeforeClass
+	public static void writeFiles() throws IOException {
+		
+		file = TestData.indexedFile();
+		
+		images = TestData.multiImageFile();
+	}
+	
+	@Test
+	public void testMatchesRead() {
+		
+		List<SeriesDescriptor> descriptors = Scifio.probe(file.getPath());
+		
+		assertEquals(1, descriptors.size());
+		
+		SeriesDescriptor descriptor = descriptors.get(0);
+		
+		DimensionedDataSource<Float32Member> data = Scifio.readAllDatasets(file.getPath()).flts.get(0);
+		
+		assertEquals(0, descriptor.imageIndex());
+		
+		assertArrayEquals(new long[] {X, Y, Z}, descriptor.dims());
+		
+		assertEquals(X * Y * Z, descriptor.numElements());
+		
+		assertTrue(descriptor.type() instanceof Float32Member);
+		
+		for (int i = 0; i < data.numDimensions(); i++) {
+			
+			assertEquals(data.getAxisType(i), descriptor.axisTypes()[i]);
+			
+			assertEquals(data.getAxisUnit(i), descriptor.axisUnits()[i]);
+		}
+		
+		assertEquals(data.metadata().getString("input-format-name"), descriptor.metadata().get("input-format-name"));
+	}
+	
+	@Test
+	public void testEveryImage() {
+		
+		List<SeriesDescriptor> descriptors = Scifio.probe(images.toURI());
+		
+		assertEquals(PLANES.length, descriptors.size());
+		
+		for (int i = 0; i < PLANES.length; i++) {
+			
+			assertEquals(i, descriptors.get(i).imageIndex());
+			
+			assertArrayEquals(new long[] {X, Y, PLANES[i]}, descriptors.get(i).dims());
+		}
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void testMetadataIsReadOnly() {
+		
+		Scifio.probe(file.getPath()).get(0).metadata().put("key", "value");
+	}
+}
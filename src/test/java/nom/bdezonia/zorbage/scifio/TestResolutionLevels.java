@@ -0,0 +1,80 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestResolutionLevels {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(ReadOptions options) {
+		
+		return Scifio.readAllDatasets(file.getPath(), options).flts.get(0);
+	}
+	
+	@Test
+	public void testLevelOne() {
+		
+		DimensionedDataSource<Float32Member> data = read(new ReadOptions().setResolutionLevel(1));
+		
+		TestData.check(data, new long[] {X/2, Y/2, Z}, (x, y, z) -> TestData.value(2*x, 2*y, z));
+		
+		TestData.checkSpace(data, 0, 2, 0);
+		
+		TestData.checkSpace(data, 1, 2, 0);
+	}
+	
+	@Test
+	public void testLevelTwo() {
+		
+		DimensionedDataSource<Float32Member> data = read(new ReadOptions().setResolutionLevel(2));
+		
+		TestData.check(data, new long[] {X/4, Y/4, Z}, (x, y, z) -> TestData.value(4*x, 4*y, z));
+		
+		TestData.checkSpace(data, 0, 4, 0);
+	}
+}
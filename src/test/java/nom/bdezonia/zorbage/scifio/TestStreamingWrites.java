@@ -0,0 +1,120 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.scif.ImageMetadata;
+import io.scif.util.FormatTools;
+import net.imagej.axis.CalibratedAxis;
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.coordinates.LinearNdCoordinateSpace;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestStreamingWrites {
+
+	private static File write(DimensionedDataSource<Float32Member> data, WriteOptions options) throws IOException {
+		
+		File file = File.createTempFile("streamed", ".tif");
+		
+		file.deleteOnExit();
+		
+		assertTrue(Scifio.writeAs(file.getPath(), G.FLT, data, options));
+		
+		return file;
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(File file) {
+		
+		return Scifio.readAllDatasets(file.getPath()).flts.get(0);
+	}
+	
+	@Test
+	public void testStreamed() throws IOException {
+		
+		File file = write(TestData.indexedData(), new WriteOptions().setStreaming(true));
+		
+		TestData.check(read(file), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testNotStreamed() throws IOException {
+		
+		File file = write(TestData.indexedData(), new WriteOptions().setStreaming(false));
+		
+		TestData.check(read(file), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testCalibrationIsKept() {
+		
+		DimensionedDataSource<Float32Member> data = TestData.indexedData();
+		
+		BigDecimal[] scales = new BigDecimal[] {BigDecimal.valueOf(0.5), BigDecimal.valueOf(2), BigDecimal.valueOf(3)};
+		
+		BigDecimal[] offsets = new BigDecimal[] {BigDecimal.valueOf(1), BigDecimal.valueOf(-3), BigDecimal.ZERO};
+		
+		data.setCoordinateSpace(new LinearNdCoordinateSpace(scales, offsets));
+		
+		data.setAxisUnit(0, "um");
+		
+		data.setAxisUnit(1, "um");
+		
+		data.setAxisUnit(2, "s");
+		
+		ImageMetadata meta = PlaneWriter.imageMetadata(data, FormatTools.FLOAT);
+		
+		List<CalibratedAxis> axes = meta.getAxes();
+		
+		assertEquals(3, axes.size());
+		
+		for (int i = 0; i < 3; i++) {
+			
+			CalibratedAxis axis = axes.get(i);
+			
+			assertEquals(data.getAxisUnit(i), axis.unit());
+			
+			assertEquals(scales[i].doubleValue(), axis.averageScale(0, 1), 0);
+			
+			assertEquals(offsets[i].doubleValue(), axis.calibratedValue(0), 0);
+		}
+	}
+}
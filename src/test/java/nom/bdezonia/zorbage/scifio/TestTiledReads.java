@@ -0,0 +1,137 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestTiledReads {
+
+	// enough planes that every task of a parallel read copies several cells
+	
+	private static final long MANY = 64;
+	
+	private static File file;
+	
+	private static File manyCells;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+		
+		manyCells = TestData.indexedFile(MANY);
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(ReadOptions options) {
+		
+		return read(file, options);
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(File f, ReadOptions options) {
+		
+		return Scifio.readAllDatasets(f.getPath(), options).flts.get(0);
+	}
+	
+	@Test
+	public void testCellCopy() {
+		
+		TestData.check(read(new ReadOptions().setTiled(true)), new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testParallelCellCopy() {
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try {
+			
+			ReadOptions options = new ReadOptions().setTiled(true).setParallelism(4).setExecutor(pool);
+			
+			TestData.check(read(options), new long[] {X, Y, Z}, TestData::value);
+		}
+		finally {
+			
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testParallelManyCells() {
+		
+		ForkJoinPool pool = new ForkJoinPool(8);
+		
+		try {
+			
+			// cells load lazily through one Reader so repeat the read to
+			//   give overlapping loads a chance to show up
+			
+			for (int i = 0; i < 4; i++) {
+				
+				ReadOptions options = new ReadOptions().setTiled(true).setParallelism(8).setExecutor(pool);
+				
+				TestData.check(read(manyCells, options), new long[] {X, Y, MANY}, TestData::value);
+			}
+		}
+		finally {
+			
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testParallelCellPlanes() {
+		
+		ForkJoinPool pool = new ForkJoinPool(8);
+		
+		try {
+			
+			// a resolution level reads a cell image plane by plane
+			
+			ReadOptions options = new ReadOptions().setResolutionLevel(1).setParallelism(8).setExecutor(pool);
+			
+			TestData.check(read(manyCells, options), new long[] {X/2, Y/2, MANY}, (x, y, z) -> TestData.value(2*x, 2*y, z));
+		}
+		finally {
+			
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+import nom.bdezonia.zorbage.type.real.float64.Float64Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestTypedReads {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	@Test
+	public void testSameType() {
+		
+		List<DimensionedDataSource<Float32Member>> list = Scifio.readAllDatasetsAs(file.getPath(), G.FLT);
+		
+		assertEquals(1, list.size());
+		
+		TestData.check(list.get(0), new long[] {TestData.X, TestData.Y, TestData.Z}, TestData::value);
+	}
+	
+	// the file holds floats so this is the case a raw copy would get wrong
+	
+	@Test
+	public void testSameTypeScaled() {
+		
+		List<DimensionedDataSource<Float32Member>> list = Scifio.readAllDatasetsAs(file.getPath(), G.FLT, 2.0, 1.0, new ReadOptions());
+		
+		TestData.check(list.get(0), new long[] {TestData.X, TestData.Y, TestData.Z},
+				(x, y, z) -> 2 * TestData.value(x, y, z) + 1);
+	}
+	
+	@Test
+	public void testSameTypeScaledTiled() {
+		
+		List<DimensionedDataSource<Float32Member>> list =
+				Scifio.readAllDatasetsAs(file.getPath(), G.FLT, 2.0, 1.0, new ReadOptions().setTiled(true));
+		
+		TestData.check(list.get(0), new long[] {TestData.X, TestData.Y, TestData.Z},
+				(x, y, z) -> 2 * TestData.value(x, y, z) + 1);
+	}
+	
+	@Test
+	public void testWiderTypeScaled() {
+		
+		List<DimensionedDataSource<Float64Member>> list = Scifio.readAllDatasetsAs(file.getPath(), G.DBL, 0.5, -3.0, new ReadOptions());
+		
+		DimensionedDataSource<Float64Member> data = list.get(0);
+		
+		Float64Member v = G.DBL.construct();
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			long x = i % TestData.X;
+			
+			long y = (i / TestData.X) % TestData.Y;
+			
+			long z = i / (TestData.X * TestData.Y);
+			
+			data.rawData().get(i, v);
+			
+			assertEquals(0.5 * TestData.value(x, y, z) - 3.0, v.v(), 0);
+		}
+	}
+	
+	@Test
+	public void testZeroCopySetUndoesScaling() {
+		
+		ReadOptions options = new ReadOptions().setZeroCopy(true);
+		
+		DimensionedDataSource<Float64Member> data = Scifio.readAllDatasetsAs(file.getPath(), G.DBL, 2.0, 1.0, options).get(0);
+		
+		Float64Member v = G.DBL.construct();
+		
+		v.setV(41);
+		
+		data.rawData().set(7, v);
+		
+		Float64Member back = G.DBL.construct();
+		
+		data.rawData().get(7, back);
+		
+		assertEquals(41, back.v(), 0);
+	}
+}
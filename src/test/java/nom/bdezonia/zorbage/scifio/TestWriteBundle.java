@@ -0,0 +1,107 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.PLANES;
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.misc.DataBundle;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestWriteBundle {
+
+	@Test
+	public void testEveryImageWritten() throws IOException {
+		
+		File file = TestData.multiImageFile();
+		
+		assertEquals(PLANES.length, Scifio.probe(file.getPath()).size());
+		
+		DataBundle bundle = Scifio.readDatasets(file.getPath(), new HashSet<>(Arrays.asList(0, 1, 2)));
+		
+		assertEquals(PLANES.length, bundle.flts.size());
+		
+		for (int i = 0; i < PLANES.length; i++) {
+			
+			TestData.check(bundle.flts.get(i), new long[] {X, Y, PLANES[i]}, TestData::value);
+		}
+	}
+	
+	// packed bits have no whole byte pixel type to stream planes of
+	
+	@Test
+	public void testUnstreamableSkipped() throws IOException {
+		
+		File file = File.createTempFile("bundle", ".ome.tif");
+		
+		try {
+			
+			DataBundle bundle = new DataBundle();
+			
+			bundle.mergeUInt1(DimensionedStorage.allocate(G.UINT1.construct(), new long[] {X, Y}));
+			
+			bundle.mergeFlt32(TestData.indexedData(2));
+			
+			assertEquals(1, Scifio.writeBundle(file.getPath(), bundle));
+			
+			DataBundle read = Scifio.readDataset(file.getPath(), 0);
+			
+			TestData.check(read.flts.get(0), new long[] {X, Y, 2}, TestData::value);
+		}
+		finally {
+			
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testNothingWritable() throws IOException {
+		
+		File file = File.createTempFile("bundle", ".ome.tif");
+		
+		try {
+			
+			assertEquals(0, Scifio.writeBundle(file.getPath(), new DataBundle()));
+		}
+		finally {
+			
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.algebra.Algebra;
+import nom.bdezonia.zorbage.algebra.Allocatable;
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.algebra.GetAsBigDecimal;
+import nom.bdezonia.zorbage.algebra.SetFromBigDecimal;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.misc.DataBundle;
+import nom.bdezonia.zorbage.tuple.Tuple2;
+
+/**
+ * Round trips of the types that writeAs converts through primitive
+ * getters and setters. The extremes of each type catch sign and width
+ * mistakes that BigDecimal conversion could not make.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestWriteConverters {
+
+	// values must be exact in binary so that they compare equal when read back
+	
+	private static <II extends Algebra<II,I>, I extends Allocatable<I> & GetAsBigDecimal & SetFromBigDecimal>
+	
+		void roundTrip(II alg, double... values) throws IOException
+	{
+		DimensionedDataSource<I> data = DimensionedStorage.allocate(alg.construct(), new long[] {values.length, 3});
+		
+		I value = alg.construct();
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			value.setFromBigDecimal(BigDecimal.valueOf(values[(int) (i % values.length)]));
+			
+			data.rawData().set(i, value);
+		}
+		
+		File file = File.createTempFile("converters", ".tif");
+		
+		try {
+			
+			assertTrue(Scifio.writeAs(file.getPath(), alg, data));
+			
+			check(Scifio.readAllDatasets(file.getPath()), alg.construct().getClass(), values);
+		}
+		finally {
+			
+			file.delete();
+		}
+	}
+	
+	private static <T extends Algebra<T,U>, U>
+	
+		void check(DataBundle bundle, Class<?> type, double[] values)
+	{
+		List<Tuple2<T, DimensionedDataSource<U>>> tuples = bundle.bundle();
+		
+		assertEquals(1, tuples.size());
+		
+		U value = tuples.get(0).a().construct();
+		
+		assertEquals(type, value.getClass());
+		
+		DimensionedDataSource<U> data = tuples.get(0).b();
+		
+		assertEquals(3 * values.length, data.rawData().size());
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			data.rawData().get(i, value);
+			
+			BigDecimal expected = BigDecimal.valueOf(values[(int) (i % values.length)]);
+			
+			assertEquals(0, expected.compareTo(((GetAsBigDecimal) value).getAsBigDecimal()));
+		}
+	}
+	
+	@Test
+	public void testInt8() throws IOException {
+		
+		roundTrip(G.INT8, Byte.MIN_VALUE, -1, 0, 1, Byte.MAX_VALUE);
+	}
+	
+	@Test
+	public void testUInt8() throws IOException {
+		
+		roundTrip(G.UINT8, 0, 1, 127, 128, 255);
+	}
+	
+	@Test
+	public void testInt16() throws IOException {
+		
+		roundTrip(G.INT16, Short.MIN_VALUE, -1, 0, 1, Short.MAX_VALUE);
+	}
+	
+	@Test
+	public void testUInt16() throws IOException {
+		
+		roundTrip(G.UINT16, 0, 1, 32767, 32768, 65535);
+	}
+	
+	@Test
+	public void testInt32() throws IOException {
+		
+		roundTrip(G.INT32, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE);
+	}
+	
+	@Test
+	public void testUInt32() throws IOException {
+		
+		roundTrip(G.UINT32, 0, 1, 2147483647L, 2147483648L, 4294967295L);
+	}
+	
+	@Test
+	public void testFloat32() throws IOException {
+		
+		roundTrip(G.FLT, -1.5, 0, 0.25, 1e6);
+	}
+	
+	@Test
+	public void testFloat64() throws IOException {
+		
+		roundTrip(G.DBL, -1.5, 0, 0.125, 1099511627776.0);
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.algebra.Algebra;
+import nom.bdezonia.zorbage.algebra.Allocatable;
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.algebra.GetAsBigDecimal;
+import nom.bdezonia.zorbage.algebra.SetFromBigDecimal;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.data.DimensionedStorage;
+import nom.bdezonia.zorbage.misc.DataBundle;
+import nom.bdezonia.zorbage.tuple.Tuple2;
+import nom.bdezonia.zorbage.type.integer.int1.UnsignedInt1Member;
+import nom.bdezonia.zorbage.type.integer.int16.UnsignedInt16Member;
+import nom.bdezonia.zorbage.type.integer.int8.UnsignedInt8Member;
+import nom.bdezonia.zorbage.type.real.float64.Float64Member;
+
+/**
+ * Round trips of the types that SCIFIO has no pixel type of their own for.
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestWriteTypes {
+
+	// writes every value from 0 to maxValue (repeating) and checks that they
+	//   read back unchanged and of the expected type
+	
+	private static <II extends Algebra<II,I>, I extends Allocatable<I> & GetAsBigDecimal & SetFromBigDecimal>
+	
+		void roundTrip(II alg, long maxValue, Class<?> readType) throws IOException
+	{
+		DimensionedDataSource<I> data = DimensionedStorage.allocate(alg.construct(), new long[] {37, 11, 2});
+		
+		I value = alg.construct();
+		
+		for (long i = 0; i < data.rawData().size(); i++) {
+			
+			value.setFromBigDecimal(BigDecimal.valueOf(i % (maxValue + 1)));
+			
+			data.rawData().set(i, value);
+		}
+		
+		File file = File.createTempFile("types", ".tif");
+		
+		try {
+			
+			assertTrue(Scifio.writeAs(file.getPath(), alg, data));
+			
+			check(Scifio.readAllDatasets(file.getPath()), maxValue, readType, data.rawData().size());
+		}
+		finally {
+			
+			file.delete();
+		}
+	}
+	
+	private static <T extends Algebra<T,U>, U>
+	
+		void check(DataBundle bundle, long maxValue, Class<?> readType, long size)
+	{
+		List<Tuple2<T, DimensionedDataSource<U>>> tuples = bundle.bundle();
+		
+		assertEquals(1, tuples.size());
+		
+		U value = tuples.get(0).a().construct();
+		
+		assertTrue(readType.isInstance(value));
+		
+		DimensionedDataSource<U> data = tuples.get(0).b();
+		
+		assertEquals(size, data.rawData().size());
+		
+		for (long i = 0; i < size; i++) {
+			
+			data.rawData().get(i, value);
+			
+			assertEquals(0, BigDecimal.valueOf(i % (maxValue + 1)).compareTo(((GetAsBigDecimal) value).getAsBigDecimal()));
+		}
+	}
+	
+	@Test
+	public void testUInt1() throws IOException {
+		
+		roundTrip(G.UINT1, 1, UnsignedInt1Member.class);
+	}
+	
+	@Test
+	public void testUInt2() throws IOException {
+		
+		roundTrip(G.UINT2, 3, UnsignedInt8Member.class);
+	}
+	
+	@Test
+	public void testUInt5() throws IOException {
+		
+		roundTrip(G.UINT5, 31, UnsignedInt8Member.class);
+	}
+	
+	@Test
+	public void testUInt7() throws IOException {
+		
+		roundTrip(G.UINT7, 127, UnsignedInt8Member.class);
+	}
+	
+	@Test
+	public void testUInt9() throws IOException {
+		
+		roundTrip(G.UINT9, 511, UnsignedInt16Member.class);
+	}
+	
+	@Test
+	public void testUInt12() throws IOException {
+		
+		roundTrip(G.UINT12, 4095, UnsignedInt16Member.class);
+	}
+	
+	@Test
+	public void testUInt15() throws IOException {
+		
+		roundTrip(G.UINT15, 32767, UnsignedInt16Member.class);
+	}
+	
+	@Test
+	public void testUInt128() throws IOException {
+		
+		// small values survive the double fallback exactly
+		
+		roundTrip(G.UINT128, 1000, Float64Member.class);
+	}
+}
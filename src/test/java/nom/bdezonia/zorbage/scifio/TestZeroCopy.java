@@ -0,0 +1,129 @@
+/*
+ * zorbage-scifio: code for using the SCIFIO data file library to open files into zorbage data structures for further processing
+ *
+ * Copyright (C) 2020-2022 Barry DeZonia
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nom.bdezonia.zorbage.scifio;
+
+import static nom.bdezonia.zorbage.scifio.TestData.X;
+import static nom.bdezonia.zorbage.scifio.TestData.Y;
+import static nom.bdezonia.zorbage.scifio.TestData.Z;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import nom.bdezonia.zorbage.algebra.G;
+import nom.bdezonia.zorbage.data.DimensionedDataSource;
+import nom.bdezonia.zorbage.datasource.IndexedDataSource;
+import nom.bdezonia.zorbage.storage.StorageConstruction;
+import nom.bdezonia.zorbage.type.real.float32.Float32Member;
+
+/**
+ * 
+ * @author Barry DeZonia
+ *
+ */
+public class TestZeroCopy {
+
+	private static File file;
+	
+	@BeforeClass
+	public static void writeFile() throws IOException {
+		
+		file = TestData.indexedFile();
+	}
+	
+	private static DimensionedDataSource<Float32Member> read(ReadOptions options) {
+		
+		return Scifio.readAllDatasets(file.getPath(), options.setZeroCopy(true)).flts.get(0);
+	}
+	
+	@Test
+	public void testGet() {
+		
+		DimensionedDataSource<Float32Member> data = read(new ReadOptions());
+		
+		assertEquals(StorageConstruction.MEM_ARRAY, data.rawData().storageType());
+		
+		TestData.check(data, new long[] {X, Y, Z}, TestData::value);
+	}
+	
+	@Test
+	public void testSetWritesThrough() {
+		
+		checkSet(read(new ReadOptions()));
+	}
+	
+	@Test
+	public void testSetWritesThroughCells() {
+		
+		DimensionedDataSource<Float32Member> data = read(new ReadOptions().setTiled(true));
+		
+		assertEquals(StorageConstruction.MEM_VIRTUAL, data.rawData().storageType());
+		
+		checkSet(data);
+	}
+	
+	@Test
+	public void testDuplicateIsACopy() {
+		
+		IndexedDataSource<Float32Member> raw = read(new ReadOptions()).rawData();
+		
+		IndexedDataSource<Float32Member> copy = raw.duplicate();
+		
+		Float32Member v = G.FLT.construct();
+		
+		v.setV(-1);
+		
+		copy.set(0, v);
+		
+		raw.get(0, v);
+		
+		assertEquals(TestData.value(0, 0, 0), v.v(), 0);
+	}
+	
+	// negates every pixel of the middle plane through the dataset and then
+	//   checks that every value reads back, including untouched planes
+	
+	private static void checkSet(DimensionedDataSource<Float32Member> data) {
+		
+		IndexedDataSource<Float32Member> raw = data.rawData();
+		
+		Float32Member v = G.FLT.construct();
+		
+		long planeSize = X * Y;
+		
+		for (long i = 2 * planeSize; i < 3 * planeSize; i++) {
+			
+			raw.get(i, v);
+			
+			v.setV(-v.v());
+			
+			raw.set(i, v);
+		}
+		
+		TestData.check(data, new long[] {X, Y, Z}, (x, y, z) -> z == 2 ? -TestData.value(x, y, z) : TestData.value(x, y, z));
+	}
+}